@@ -0,0 +1,133 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Zhang Jiankun
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package cloud.pyrgus.benchmarks;
+
+import cloud.pyrgus.framework.core.message.Message;
+import cloud.pyrgus.framework.core.message.consumer.LocalMethodMessageConsumer;
+import cloud.pyrgus.framework.core.task.TaskInterceptor;
+import cloud.pyrgus.framework.core.task.TaskInterceptorChain;
+import cloud.pyrgus.framework.impl.core.argument_resolver.ArgumentResolver;
+import cloud.pyrgus.framework.impl.core.argument_resolver.message.header.MessageHeader;
+import cloud.pyrgus.framework.impl.core.argument_resolver.message.header.MessageHeaderArgumentResolver;
+import cloud.pyrgus.framework.impl.core.argument_resolver.message.payload.MessagePayloadArgumentResolver;
+import cloud.pyrgus.framework.impl.core.argument_resolver.task.state.TaskStateArgumentResolver;
+import cloud.pyrgus.framework.impl.core.interceptor.LocalMethodArgumentResolveInterceptor;
+import cloud.pyrgus.framework.impl.core.task.SimpleTask;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link LocalMethodArgumentResolveInterceptor} 为不同参数数量的方法解析参数的开销, 参数均由 {@link MessageHeader} 提供.
+ *
+ * @author <a href="mailto:git@krun.dev">Jiankun-Zhang</a>
+ * @since 2026/10/17
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ArgumentResolveBenchmark {
+
+    @Param({"1", "3", "6"})
+    public int parameters;
+
+    private final TaskInterceptor terminal = (task, chain) -> {
+    };
+
+    private LocalMethodArgumentResolveInterceptor interceptor;
+
+    private SimpleTask task;
+
+    private TaskInterceptorChain chain;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        List<ArgumentResolver> resolvers = Arrays.asList(
+                new MessageHeaderArgumentResolver(), new MessagePayloadArgumentResolver(), new TaskStateArgumentResolver());
+        interceptor = new LocalMethodArgumentResolveInterceptor();
+        interceptor.configure(new FixtureRegistry().with(ArgumentResolver.class, resolvers), FixtureRegistry.NO_PROPERTIES);
+
+        Class<?>[] types = new Class<?>[parameters];
+        Arrays.fill(types, String.class);
+        Method method = Handler.class.getMethod("handle", types);
+        Map<String, Object> headers = new HashMap<>();
+        for (String name : Arrays.asList("a", "b", "c", "d", "e", "f")) {
+            headers.put(name, name);
+        }
+        Message message = new Message() {
+            @Override
+            public Map<String, Object> getHeaders() {
+                return headers;
+            }
+
+            @Override
+            public Object getPayload() {
+                return "foo";
+            }
+        };
+        LocalMethodMessageConsumer consumer = new LocalMethodMessageConsumer() {
+            private final Handler handler = new Handler();
+
+            @Override
+            public Object getInvokeTarget() {
+                return handler;
+            }
+
+            @Override
+            public Method matchMethod(Message message) {
+                return method;
+            }
+        };
+        task = new SimpleTask(message, consumer, null, null, new CompletableFuture<>());
+        chain = new TaskInterceptorChain(task, Collections.singletonList(terminal));
+    }
+
+    @Benchmark
+    public Object resolve() {
+        interceptor.intercept(task, chain.reset(task, Collections.singletonList(terminal)));
+        return task.getContext().get(LocalMethodArgumentResolveInterceptor.CTX_KEY_ARGS);
+    }
+
+    public static class Handler {
+
+        public void handle(@MessageHeader(name = "a") String a) {
+        }
+
+        public void handle(@MessageHeader(name = "a") String a, @MessageHeader(name = "b") String b,
+                           @MessageHeader(name = "c") String c) {
+        }
+
+        public void handle(@MessageHeader(name = "a") String a, @MessageHeader(name = "b") String b,
+                           @MessageHeader(name = "c") String c, @MessageHeader(name = "d") String d,
+                           @MessageHeader(name = "e") String e, @MessageHeader(name = "f") String f) {
+        }
+    }
+}
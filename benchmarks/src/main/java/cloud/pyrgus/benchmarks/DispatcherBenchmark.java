@@ -0,0 +1,94 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Zhang Jiankun
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package cloud.pyrgus.benchmarks;
+
+import cloud.pyrgus.framework.core.message.Message;
+import cloud.pyrgus.framework.core.message.MessageConsumer;
+import cloud.pyrgus.framework.core.message.MessageFilter;
+import cloud.pyrgus.framework.impl.core.message.NamedMessageDispatcher;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link NamedMessageDispatcher#dispatch(Message, CompletableFuture)} 在不同数量的 {@link MessageFilter} 下的开销, 以及自适应排序的采样开销.
+ *
+ * @author <a href="mailto:git@krun.dev">Jiankun-Zhang</a>
+ * @since 2026/10/17
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DispatcherBenchmark {
+
+    @Param({"0", "1", "5", "20"})
+    public int filters;
+
+    @Param({"true", "false"})
+    public boolean adaptive;
+
+    private final Message message = new Message() {
+        private final Map<String, Object> headers = Collections.singletonMap("name", "noop");
+
+        @Override
+        public Map<String, Object> getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public Object getPayload() {
+            return "foo";
+        }
+    };
+
+    private final CompletableFuture<Object> future = new CompletableFuture<>();
+
+    private NamedMessageDispatcher dispatcher;
+
+    @Setup
+    public void setUp() {
+        List<MessageFilter> messageFilters = new ArrayList<>(filters);
+        for (int i = 0; i < filters; i++) {
+            messageFilters.add(message -> message.getPayload() instanceof String);
+        }
+        dispatcher = new NamedMessageDispatcher();
+        dispatcher.configure(new FixtureRegistry().with(MessageFilter.class, messageFilters),
+                key -> NamedMessageDispatcher.PROP_ADAPTIVE_FILTERS.equals(key) ? String.valueOf(adaptive) : null);
+        dispatcher.addConsumer("noop", (message, future) -> future.complete(message.getPayload()));
+    }
+
+    @Benchmark
+    public MessageConsumer dispatch() {
+        return dispatcher.dispatch(message, future);
+    }
+}
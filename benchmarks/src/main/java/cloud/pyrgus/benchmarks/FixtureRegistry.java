@@ -0,0 +1,63 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Zhang Jiankun
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package cloud.pyrgus.benchmarks;
+
+import cloud.pyrgus.framework.core.service.PropertyProvider;
+import cloud.pyrgus.framework.core.service.Service;
+import cloud.pyrgus.framework.core.service.ServiceRegistry;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 基准测试中手动装配组件所用的注册表, 不经过类路径扫描与 {@link cloud.pyrgus.framework.Pyrgus} 单例.
+ *
+ * @author <a href="mailto:git@krun.dev">Jiankun-Zhang</a>
+ * @since 2026/10/17
+ */
+class FixtureRegistry implements ServiceRegistry {
+
+    static final PropertyProvider NO_PROPERTIES = key -> null;
+
+    private final Map<Class<?>, List<?>> services = new HashMap<>();
+
+    <S extends Service> FixtureRegistry with(Class<S> serviceType, List<? extends S> instances) {
+        services.put(serviceType, instances);
+        return this;
+    }
+
+    @Override
+    public <S extends Service> S loadService(Class<S> serviceType) {
+        return loadServices(serviceType).get(0);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <S extends Service> List<S> loadServices(Class<S> serviceType) {
+        return (List<S>) services.getOrDefault(serviceType, Collections.emptyList());
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Zhang Jiankun
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package cloud.pyrgus.benchmarks;
+
+import cloud.pyrgus.framework.Pyrgus;
+import cloud.pyrgus.framework.core.message.MessagingGateway;
+import cloud.pyrgus.framework.impl.core.message.NamedMessageDispatcher;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 经由 {@link MessagingGateway#apply(Object, Map, cloud.pyrgus.framework.core.task.Mode)} 发送一条消息并等待结果的吞吐量与延迟分布,
+ * 对比在提交线程中执行与交由后台线程执行的差异.
+ *
+ * @author <a href="mailto:git@krun.dev">Jiankun-Zhang</a>
+ * @since 2026/10/17
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GatewayBenchmark {
+
+    private final Map<String, Object> headers = Collections.singletonMap("name", "noop");
+
+    @Param({"Posting", "Background"})
+    public cloud.pyrgus.framework.core.task.Mode mode;
+
+    private MessagingGateway gateway;
+
+    @Setup
+    public void setUp() throws Exception {
+        Pyrgus pyrgus = Pyrgus.configure(GatewayBenchmark.class);
+        pyrgus.loadService(NamedMessageDispatcher.class).addConsumer("noop", (message, future) -> future.complete(message.getPayload()));
+        gateway = pyrgus.loadService(MessagingGateway.class);
+    }
+
+    @Benchmark
+    public Object apply() {
+        return gateway.apply("foo", headers, mode).join();
+    }
+}
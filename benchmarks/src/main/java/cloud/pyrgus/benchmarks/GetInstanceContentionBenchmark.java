@@ -0,0 +1,72 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Zhang Jiankun
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package cloud.pyrgus.benchmarks;
+
+import cloud.pyrgus.framework.Pyrgus;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 多线程同时调用 {@link Pyrgus#getInstance()} 时的吞吐量, 以一个同步方法作为对照.
+ * 使用 {@code -t} 指定不同的线程数量以观察随核心数的扩展情况:
+ * <pre>
+ * java -jar target/benchmarks.jar GetInstanceContentionBenchmark -t 1
+ * java -jar target/benchmarks.jar GetInstanceContentionBenchmark -t max
+ * </pre>
+ *
+ * @author <a href="mailto:git@krun.dev">Jiankun-Zhang</a>
+ * @since 2026/10/17
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+@State(Scope.Benchmark)
+public class GetInstanceContentionBenchmark {
+
+    private static Pyrgus synchronizedInstance;
+
+    @Setup
+    public void setUp() {
+        synchronizedInstance = Pyrgus.configure(GetInstanceContentionBenchmark.class);
+    }
+
+    private static synchronized Pyrgus synchronizedGetInstance() {
+        return synchronizedInstance;
+    }
+
+    @Benchmark
+    public Pyrgus getInstance() {
+        return Pyrgus.getInstance();
+    }
+
+    @Benchmark
+    public Pyrgus synchronizedBaseline() {
+        return synchronizedGetInstance();
+    }
+}
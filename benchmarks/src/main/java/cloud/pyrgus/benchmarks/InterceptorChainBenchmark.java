@@ -0,0 +1,120 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Zhang Jiankun
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package cloud.pyrgus.benchmarks;
+
+import cloud.pyrgus.framework.core.message.Message;
+import cloud.pyrgus.framework.core.task.BeforeAfterTaskInterceptor;
+import cloud.pyrgus.framework.core.task.Task;
+import cloud.pyrgus.framework.core.task.TaskInterceptor;
+import cloud.pyrgus.framework.core.task.TaskInterceptorChain;
+import cloud.pyrgus.framework.impl.core.task.SimpleTask;
+import cloud.pyrgus.framework.impl.core.task.SimpleThreadPoolTaskExecutor;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SimpleThreadPoolTaskExecutor#execute(Task)} 在 1/5/20 个拦截器下的开销,
+ * 对比需要递归调用 {@link TaskInterceptorChain#next()} 的环绕式拦截器与在循环中执行的 {@link BeforeAfterTaskInterceptor}.
+ *
+ * @author <a href="mailto:git@krun.dev">Jiankun-Zhang</a>
+ * @since 2026/10/17
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InterceptorChainBenchmark {
+
+    @Param({"1", "5", "20"})
+    public int interceptors;
+
+    @Param({"around", "beforeAfter"})
+    public String style;
+
+    private SimpleThreadPoolTaskExecutor executor;
+
+    private Task task;
+
+    @Setup
+    public void setUp() {
+        List<TaskInterceptor> list = new ArrayList<>(interceptors);
+        for (int i = 0; i < interceptors; i++) {
+            list.add("around".equals(style) ? new Around() : new BeforeAfter());
+        }
+        executor = new SimpleThreadPoolTaskExecutor();
+        executor.configure(new FixtureRegistry().with(TaskInterceptor.class, list), FixtureRegistry.NO_PROPERTIES);
+
+        Message message = new Message() {
+            @Override
+            public Map<String, Object> getHeaders() {
+                return Collections.emptyMap();
+            }
+
+            @Override
+            public Object getPayload() {
+                return "foo";
+            }
+        };
+        // 不结束 future, 使同一个任务可以被反复执行.
+        task = new SimpleTask(message, (m, future) -> {
+        }, null, null, new CompletableFuture<>());
+    }
+
+    @Benchmark
+    public Task execute() {
+        executor.execute(task);
+        return task;
+    }
+
+    static final class Around implements TaskInterceptor {
+
+        int calls;
+
+        @Override
+        public void intercept(Task task, TaskInterceptorChain chain) {
+            calls++;
+            chain.next();
+        }
+    }
+
+    static final class BeforeAfter implements BeforeAfterTaskInterceptor {
+
+        int calls;
+
+        @Override
+        public boolean before(Task task) {
+            calls++;
+            return true;
+        }
+    }
+}
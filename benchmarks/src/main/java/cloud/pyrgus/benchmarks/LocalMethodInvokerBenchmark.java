@@ -0,0 +1,104 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Zhang Jiankun
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package cloud.pyrgus.benchmarks;
+
+import cloud.pyrgus.framework.core.message.consumer.LocalMethodInvoker;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 对比 {@link Method#invoke(Object, Object...)} 与 {@link LocalMethodInvoker} 的调用开销.
+ *
+ * @author <a href="mailto:git@krun.dev">Jiankun-Zhang</a>
+ * @since 2026/10/17
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LocalMethodInvokerBenchmark {
+
+    private final Handler target = new Handler();
+
+    private Method method;
+
+    private Method privateMethod;
+
+    private LocalMethodInvoker invoker;
+
+    private LocalMethodInvoker privateInvoker;
+
+    private Object[] arguments;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        method = Handler.class.getMethod("handle", String.class, String.class);
+        privateMethod = Handler.class.getDeclaredMethod("handlePrivately", String.class, String.class);
+        privateMethod.setAccessible(true);
+        invoker = LocalMethodInvoker.of(method);
+        privateInvoker = LocalMethodInvoker.of(privateMethod);
+        arguments = new Object[]{"foo", "bar"};
+    }
+
+    @Benchmark
+    public Object reflection() throws Exception {
+        return method.invoke(target, arguments);
+    }
+
+    @Benchmark
+    public Object reflectionPrivate() throws Exception {
+        return privateMethod.invoke(target, arguments);
+    }
+
+    @Benchmark
+    public Object invoker() throws Throwable {
+        return invoker.invoke(target, arguments);
+    }
+
+    @Benchmark
+    public Object invokerPrivate() throws Throwable {
+        return privateInvoker.invoke(target, arguments);
+    }
+
+    @Benchmark
+    public Object invokerLookup() throws Throwable {
+        return LocalMethodInvoker.of(method).invoke(target, arguments);
+    }
+
+    public static class Handler {
+        public String handle(String foo, String bar) {
+            return bar;
+        }
+
+        String handlePrivately(String foo, String bar) {
+            return bar;
+        }
+    }
+
+}
@@ -0,0 +1,69 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Zhang Jiankun
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package cloud.pyrgus.benchmarks;
+
+import cloud.pyrgus.framework.Pyrgus;
+import cloud.pyrgus.framework.core.message.MessagingGateway;
+import cloud.pyrgus.framework.impl.core.message.NamedMessageDispatcher;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 以 {@link cloud.pyrgus.framework.core.task.Mode#Posting} 模式经由 {@link MessagingGateway} 发送消息时每条消息的开销,
+ * 请配合 {@code -prof gc} 运行以观察每条消息分配的字节数 ({@code gc.alloc.rate.norm}):
+ * <pre>
+ * java -jar target/benchmarks.jar MessagingAllocationBenchmark -prof gc
+ * </pre>
+ *
+ * @author <a href="mailto:git@krun.dev">Jiankun-Zhang</a>
+ * @since 2026/10/17
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MessagingAllocationBenchmark {
+
+    private final Map<String, Object> headers = Collections.singletonMap("name", "noop");
+
+    private MessagingGateway gateway;
+
+    @Setup
+    public void setUp() throws Exception {
+        Pyrgus pyrgus = Pyrgus.configure(MessagingAllocationBenchmark.class);
+        pyrgus.loadService(NamedMessageDispatcher.class).addConsumer("noop", (message, future) -> future.complete(message.getPayload()));
+        gateway = pyrgus.loadService(MessagingGateway.class);
+    }
+
+    @Benchmark
+    public Object apply() {
+        return gateway.apply("foo", headers, cloud.pyrgus.framework.core.task.Mode.Posting).join();
+    }
+}
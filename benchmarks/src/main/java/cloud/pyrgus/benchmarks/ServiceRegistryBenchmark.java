@@ -0,0 +1,89 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Zhang Jiankun
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package cloud.pyrgus.benchmarks;
+
+import cloud.pyrgus.framework.core.service.Service;
+import cloud.pyrgus.framework.impl.core.service.SimpleServiceRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SimpleServiceRegistry} 按服务类型加载服务实例的开销.
+ *
+ * @author <a href="mailto:git@krun.dev">Jiankun-Zhang</a>
+ * @since 2026/10/17
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ServiceRegistryBenchmark {
+
+    private SimpleServiceRegistry registry;
+
+    @Setup
+    public void setUp() {
+        Set<Class<? extends Service>> classes = new HashSet<>();
+        classes.add(SingleImpl.class);
+        classes.add(MultiImpl1.class);
+        classes.add(MultiImpl2.class);
+        classes.add(MultiImpl3.class);
+        registry = new SimpleServiceRegistry(classes);
+    }
+
+    @Benchmark
+    public Single loadService() throws Exception {
+        return registry.loadService(Single.class);
+    }
+
+    @Benchmark
+    public List<Multi> loadServices() {
+        return registry.loadServices(Multi.class);
+    }
+
+    public interface Single extends Service {
+    }
+
+    public interface Multi extends Service {
+    }
+
+    public static class SingleImpl implements Single {
+    }
+
+    public static class MultiImpl1 implements Multi {
+    }
+
+    public static class MultiImpl2 implements Multi {
+    }
+
+    public static class MultiImpl3 implements Multi {
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Zhang Jiankun
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package cloud.pyrgus.benchmarks;
+
+import cloud.pyrgus.framework.Configuration;
+import cloud.pyrgus.framework.Pyrgus;
+import cloud.pyrgus.framework.impl.core.service.IndexedServiceRegisterBuilder;
+import cloud.pyrgus.framework.impl.core.service.PropertiesProvider;
+import cloud.pyrgus.framework.impl.core.service.ServiceBootstrap;
+import cloud.pyrgus.framework.impl.core.service.SimpleServiceRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Pyrgus} 的启动耗时: {@link #configure()} 包括类路径扫描与注册表构建, {@link #configureIndexed()} 则读取构建期生成的服务索引.
+ * {@link #bootstrap} 决定服务实例的创建时机. 每次调用后通过反射重置 {@link Pyrgus} 单例.
+ *
+ * @author <a href="mailto:git@krun.dev">Jiankun-Zhang</a>
+ * @since 2026/10/17
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+
+    @Param({"Eager", "Lazy", "Parallel"})
+    private ServiceBootstrap bootstrap;
+
+    private Field configured;
+
+    @Setup
+    public void setUp() throws NoSuchFieldException {
+        System.setProperty(SimpleServiceRegistry.PROP_BOOTSTRAP, bootstrap.name());
+        configured = Pyrgus.class.getDeclaredField("configured");
+        configured.setAccessible(true);
+    }
+
+    @TearDown(Level.Invocation)
+    public void reset() throws IllegalAccessException {
+        configured.set(Pyrgus.getInstance(), false);
+    }
+
+    @Benchmark
+    public Pyrgus configure() {
+        return Pyrgus.configure(StartupBenchmark.class);
+    }
+
+    @Benchmark
+    public Pyrgus configureIndexed() {
+        return Pyrgus.configure(Configuration.builder()
+                .propertyProvider(new PropertiesProvider())
+                .serviceRegisterBuilder(new IndexedServiceRegisterBuilder())
+                .build());
+    }
+}
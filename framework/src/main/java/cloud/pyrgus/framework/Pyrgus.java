@@ -24,13 +24,17 @@
 
 package cloud.pyrgus.framework;
 
+import cloud.pyrgus.framework.core.service.Configurable;
 import cloud.pyrgus.framework.core.service.PropertyProvider;
 import cloud.pyrgus.framework.core.service.ServiceRegistry;
+import cloud.pyrgus.framework.core.service.StartupProfiler;
+import cloud.pyrgus.framework.core.service.StartupReport;
 import cloud.pyrgus.framework.exception.PyrgusAlreadyConfiguredException;
 import cloud.pyrgus.framework.exception.PyrgusNotConfiguredException;
 import cloud.pyrgus.framework.impl.core.service.PropertiesProvider;
 import cloud.pyrgus.framework.impl.core.service.ReflectionsServiceRegisterBuilder;
 import lombok.experimental.Delegate;
+import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
 import org.reflections.scanners.Scanners;
 import org.reflections.util.ConfigurationBuilder;
@@ -43,13 +47,19 @@ import java.util.Objects;
  * @author <a href="mailto:git@krun.dev">Jiankun-Zhang</a>
  * @since 2022/4/13
  */
-public class Pyrgus {
+@Slf4j
+public class Pyrgus implements PropertyProvider {
 
     @Delegate
     private PropertyProvider propertyProvider;
     @Delegate
     private ServiceRegistry serviceRegistry;
-    private boolean configured = false;
+    /**
+     * 在 {@link #propertyProvider} 与 {@link #serviceRegistry} 赋值之后写入, 读取到 {@code true} 的线程一定能看到这两个字段的值.
+     */
+    private volatile boolean configured = false;
+
+    private StartupProfiler profiler;
 
     /**
      * 使用 {@link PropertiesProvider} 与 {@link ReflectionsServiceRegisterBuilder} 作为最小配置.
@@ -69,7 +79,7 @@ public class Pyrgus {
     }
 
     /**
-     * 配置 {@link Pyrgus}.
+     * 配置 {@link Pyrgus}. 如果服务注册表实现了 {@link Configurable}, 将在 {@link Pyrgus} 可用之后立即配置服务注册表.
      *
      * @param configuration 配置内容
      * @return 完成配置的 {@link Pyrgus} 实例.
@@ -81,20 +91,32 @@ public class Pyrgus {
         if (instance.configured) {
             throw new PyrgusAlreadyConfiguredException();
         }
+        StartupProfiler profiler = new StartupProfiler();
         instance.propertyProvider = Objects.requireNonNull(configuration.propertyProvider);
-        instance.serviceRegistry = Objects.requireNonNull(configuration.serviceRegisterBuilder).build();
+        instance.serviceRegistry = Objects.requireNonNull(configuration.serviceRegisterBuilder).build(profiler);
+        instance.profiler = profiler;
         instance.configured = true;
+        if (instance.serviceRegistry instanceof Configurable) {
+            try {
+                ((Configurable) instance.serviceRegistry).configure(instance.serviceRegistry, instance);
+            } catch (RuntimeException | Error e) {
+                instance.configured = false;
+                throw e;
+            }
+        }
+        profiler.stop();
+        log.info("pyrgus configured: {}", profiler.report());
         return instance;
     }
 
     /**
-     * 获取已配置的 {@link Pyrgus} 实例.
+     * 获取已配置的 {@link Pyrgus} 实例. 此方法不加锁, 可以在每条消息的处理路径上频繁调用.
      *
      * @return 已完成配置的 {@link Pyrgus} 实例.
      * @throws PyrgusNotConfiguredException 请参阅此异常的注释.
      * @see Pyrgus#configure(Configuration)
      */
-    public static synchronized Pyrgus getInstance() {
+    public static Pyrgus getInstance() {
         Pyrgus instance = Holder.instance;
         if (instance.configured) {
             return instance;
@@ -102,6 +124,16 @@ public class Pyrgus {
         throw new PyrgusNotConfiguredException();
     }
 
+    /**
+     * 生成启动报告, 其中包括构建服务注册表的各阶段耗时与各服务的创建、首次配置耗时.
+     * 延迟创建或配置的服务在首次被加载后才会出现在报告中, 因此每次调用都会生成新的快照.
+     *
+     * @return 启动报告.
+     */
+    public StartupReport getStartupReport() {
+        return profiler.report();
+    }
+
     private static class Holder {
 
         private static final Pyrgus instance = new Pyrgus();
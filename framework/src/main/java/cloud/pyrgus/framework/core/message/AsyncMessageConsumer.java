@@ -0,0 +1,68 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Zhang Jiankun
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package cloud.pyrgus.framework.core.message;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * 异步消息消费者, 消费过程需要等待 I/O 时返回一个尚未完成的 {@link CompletionStage}, 而不是阻塞执行线程.<br/>
+ * 返回的阶段完成时以其结果 (或异常) 结束任务的 {@link CompletableFuture}.
+ *
+ * @author <a href="mailto:git@krun.dev">Jiankun-Zhang</a>
+ * @since 2026/10/17
+ */
+public interface AsyncMessageConsumer extends MessageConsumer {
+
+    /**
+     * 异步消费消息.
+     *
+     * @param message 需要消费的消息.
+     * @return 消费结果.
+     */
+    @NotNull
+    CompletionStage<?> consumeAsync(@NotNull Message message);
+
+    /**
+     * 调用 {@link #consumeAsync(Message)} 并在其完成时结束 {@literal future}, 不会等待消费完成.
+     *
+     * @param message 需要消费的消息.
+     * @param future  当消费完成时, 通知消息来源.
+     */
+    @Override
+    default void consume(@NotNull Message message, @NotNull CompletableFuture<Object> future) {
+        consumeAsync(message).whenComplete((value, error) -> {
+            if (error == null) {
+                future.complete(value);
+            } else {
+                future.completeExceptionally(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+            }
+        });
+    }
+
+}
@@ -0,0 +1,85 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Zhang Jiankun
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package cloud.pyrgus.framework.core.message;
+
+import lombok.Value;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 批量发送消息的结果.
+ *
+ * @param <R> 期望的返回类型
+ * @author <a href="mailto:git@krun.dev">Jiankun-Zhang</a>
+ * @since 2026/10/17
+ */
+@Value
+public class BatchResult<R> {
+
+    /**
+     * 与载荷一一对应的结果.
+     */
+    List<CompletableFuture<R>> futures;
+
+    /**
+     * 所有消息处理成功时以载荷顺序返回结果, 任一消息失败时立即以该异常结束.
+     */
+    CompletableFuture<List<R>> all;
+
+    /**
+     * 组合一批结果.
+     *
+     * @param futures 与载荷一一对应的结果.
+     * @param <R>     期望的返回类型
+     * @return {@link BatchResult} 实例.
+     */
+    public static <R> BatchResult<R> of(@NotNull List<CompletableFuture<R>> futures) {
+        List<CompletableFuture<R>> snapshot = Collections.unmodifiableList(new ArrayList<>(futures));
+        CompletableFuture<List<R>> all = new CompletableFuture<>();
+        AtomicInteger remaining = new AtomicInteger(snapshot.size());
+        if (snapshot.isEmpty()) {
+            all.complete(Collections.emptyList());
+        }
+        for (CompletableFuture<R> future : snapshot) {
+            future.whenComplete((value, throwable) -> {
+                if (throwable != null) {
+                    all.completeExceptionally(throwable);
+                } else if (remaining.decrementAndGet() == 0) {
+                    List<R> results = new ArrayList<>(snapshot.size());
+                    for (CompletableFuture<R> f : snapshot) {
+                        results.add(f.join());
+                    }
+                    all.complete(results);
+                }
+            });
+        }
+        return new BatchResult<>(snapshot, all);
+    }
+}
@@ -28,6 +28,8 @@ import cloud.pyrgus.framework.core.service.Service;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -49,4 +51,20 @@ public interface MessageDispatcher extends Service {
     @Nullable
     MessageConsumer dispatch(@NotNull Message message, @NotNull CompletableFuture<Object> future);
 
+    /**
+     * 批量调度消息. 默认实现逐条调用 {@link #dispatch(Message, CompletableFuture)}.
+     *
+     * @param messages 需要调度的消息.
+     * @param futures  与消息一一对应, 调度失败时会使用 {@link CompletableFuture#completeExceptionally(Throwable)} 结束调度.
+     * @return 与消息一一对应的消费者, 调度失败的消息对应 {@code null}.
+     */
+    @NotNull
+    default List<MessageConsumer> dispatchAll(@NotNull List<Message> messages, @NotNull List<CompletableFuture<Object>> futures) {
+        List<MessageConsumer> consumers = new ArrayList<>(messages.size());
+        for (int i = 0; i < messages.size(); i++) {
+            consumers.add(dispatch(messages.get(i), futures.get(i)));
+        }
+        return consumers;
+    }
+
 }
@@ -25,6 +25,7 @@
 package cloud.pyrgus.framework.core.message;
 
 import cloud.pyrgus.framework.core.service.Service;
+import org.jetbrains.annotations.NotNull;
 
 import java.util.function.Predicate;
 
@@ -37,4 +38,14 @@ import java.util.function.Predicate;
  */
 public interface MessageFilter extends Predicate<Message>, Service {
 
+    /**
+     * 判断此过滤器是否适用于发往指定消费者的消息, 在消费者注册时对每个消费者调用一次, 不适用的过滤器不会参与该消费者的消息过滤.
+     *
+     * @param consumerName 消费者名称.
+     * @return 默认适用于所有消费者.
+     */
+    default boolean appliesTo(@NotNull String consumerName) {
+        return true;
+    }
+
 }
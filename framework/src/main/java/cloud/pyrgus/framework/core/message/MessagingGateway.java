@@ -29,6 +29,9 @@ import cloud.pyrgus.framework.core.task.Mode;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
@@ -52,4 +55,22 @@ public interface MessagingGateway extends Service {
      */
     @NotNull <R> CompletableFuture<R> apply(@NotNull Object payload, @Nullable Map<String, Object> headers, @NotNull Mode mode);
 
+    /**
+     * 批量发送消息, 所有消息共享同一组标头. 默认实现逐条调用 {@link #apply(Object, Map, Mode)}, 实现方可以一次性完成调度与提交.
+     *
+     * @param payloads 消息载荷
+     * @param headers  消息标头
+     * @param mode     执行模式
+     * @param <R>      期望的返回类型
+     * @return 与载荷一一对应的结果及其组合结果.
+     */
+    @NotNull
+    default <R> BatchResult<R> applyAll(@NotNull Collection<?> payloads, @Nullable Map<String, Object> headers, @NotNull Mode mode) {
+        List<CompletableFuture<R>> futures = new ArrayList<>(payloads.size());
+        for (Object payload : payloads) {
+            futures.add(apply(payload, headers, mode));
+        }
+        return BatchResult.of(futures);
+    }
+
 }
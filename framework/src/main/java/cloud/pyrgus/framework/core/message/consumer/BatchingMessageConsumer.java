@@ -0,0 +1,205 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Zhang Jiankun
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package cloud.pyrgus.framework.core.message.consumer;
+
+import cloud.pyrgus.framework.Pyrgus;
+import cloud.pyrgus.framework.core.message.Message;
+import cloud.pyrgus.framework.core.message.MessageConsumer;
+import cloud.pyrgus.framework.core.service.exception.PyrgusServiceException;
+import cloud.pyrgus.framework.core.task.Mode;
+import cloud.pyrgus.framework.core.task.Task;
+import cloud.pyrgus.framework.core.task.TaskExecutor;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 微批处理消费者, 将消息载荷累积为批次后一次性交给只接受一个 {@link List} 参数的本地方法处理.<br/>
+ * 批次中的消息数量达到上限时由放入最后一条消息的线程立即处理, 否则在首条消息放入后等待指定的时间,
+ * 由计时线程将批次作为任务以指定的 {@link Mode} 提交给 {@link TaskExecutor} 处理; 计时线程本身不执行处理方法.
+ * 框架未配置或提交失败时改由 {@link ForkJoinPool#commonPool()} 处理.<br/>
+ * 方法返回与批次大小相同的 {@link List} 时按顺序逐一完成每条消息, 否则所有消息均以该返回值完成; 方法抛出异常时所有消息均以该异常结束.
+ *
+ * @author <a href="mailto:git@krun.dev">Jiankun-Zhang</a>
+ * @see LocalMethodMessageConsumer#batching(Object, Method, int, long, Mode)
+ * @since 2026/10/17
+ */
+@Slf4j
+class BatchingMessageConsumer implements MessageConsumer {
+
+    private static final ScheduledExecutorService LINGER_TIMER = createLingerTimer();
+
+    private final Object target;
+
+    private final LocalMethodInvoker invoker;
+
+    private final int maxBatchSize;
+
+    private final long lingerMillis;
+
+    private final Mode flushMode;
+
+    private Batch current = null;
+
+    BatchingMessageConsumer(@NotNull Object target, @NotNull Method method, int maxBatchSize, long lingerMillis, @NotNull Mode flushMode) {
+        if (method.getParameterCount() != 1 || !method.getParameterTypes()[0].isAssignableFrom(List.class)) {
+            throw new IllegalArgumentException(String.format("批处理方法必须只接受一个 List 参数: %s", method));
+        }
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException(String.format("批次大小必须大于 0: %d", maxBatchSize));
+        }
+        this.target = target;
+        this.invoker = LocalMethodInvoker.of(method);
+        this.maxBatchSize = maxBatchSize;
+        this.lingerMillis = lingerMillis;
+        this.flushMode = flushMode;
+    }
+
+    private static ScheduledExecutorService createLingerTimer() {
+        AtomicInteger index = new AtomicInteger();
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "pyrgus-batch-linger-" + index.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.setRemoveOnCancelPolicy(true);
+        return timer;
+    }
+
+    @Override
+    public void consume(@NotNull Message message, @NotNull CompletableFuture<Object> future) {
+        Batch full = null;
+        synchronized (this) {
+            if (current == null) {
+                Batch batch = new Batch(maxBatchSize);
+                if (maxBatchSize > 1) {
+                    batch.timer = LINGER_TIMER.schedule(() -> flush(batch), Math.max(0, lingerMillis), TimeUnit.MILLISECONDS);
+                }
+                current = batch;
+            }
+            current.add(message, future);
+            if (current.size() >= maxBatchSize) {
+                full = current;
+                current = null;
+            }
+        }
+        if (full != null) {
+            if (full.timer != null) {
+                full.timer.cancel(false);
+            }
+            full.process();
+        }
+    }
+
+    private void flush(Batch batch) {
+        synchronized (this) {
+            if (current != batch) {
+                return;
+            }
+            current = null;
+        }
+        Task task;
+        try {
+            task = Pyrgus.getInstance().loadService(TaskExecutor.class).submit(batch.first, batch, null, flushMode);
+        } catch (RuntimeException | PyrgusServiceException e) {
+            log.debug("task executor unavailable, flush batch in common pool: {}", e.toString());
+            task = null;
+        }
+        if (task == null) {
+            ForkJoinPool.commonPool().execute(batch::process);
+        } else {
+            task.getFuture().whenComplete((result, error) -> batch.abandon(error));
+        }
+    }
+
+    private class Batch implements MessageConsumer {
+
+        private final List<Object> payloads;
+
+        private final List<CompletableFuture<Object>> futures;
+
+        private ScheduledFuture<?> timer = null;
+
+        private Message first = null;
+
+        Batch(int capacity) {
+            this.payloads = new ArrayList<>(capacity);
+            this.futures = new ArrayList<>(capacity);
+        }
+
+        void add(Message message, CompletableFuture<Object> future) {
+            if (first == null) {
+                first = message;
+            }
+            payloads.add(message.getPayload());
+            futures.add(future);
+        }
+
+        int size() {
+            return payloads.size();
+        }
+
+        void process() {
+            Object result;
+            try {
+                result = invoker.invoke(target, new Object[]{Collections.unmodifiableList(payloads)});
+            } catch (Throwable e) {
+                futures.forEach(future -> future.completeExceptionally(e));
+                return;
+            }
+            if (result instanceof List && ((List<?>) result).size() == futures.size()) {
+                List<?> results = (List<?>) result;
+                for (int i = 0; i < futures.size(); i++) {
+                    futures.get(i).complete(results.get(i));
+                }
+            } else {
+                futures.forEach(future -> future.complete(result));
+            }
+        }
+
+        @Override
+        public void consume(@NotNull Message message, @NotNull CompletableFuture<Object> future) {
+            process();
+            future.complete(null);
+        }
+
+        /**
+         * 批次任务被取消或被拦截器终止而未处理时, 以失败结束批次中尚未完成的消息.
+         */
+        void abandon(Throwable error) {
+            for (CompletableFuture<Object> future : futures) {
+                if (!future.isDone()) {
+                    future.completeExceptionally(error != null ? error : new CancellationException("批次任务结束时未被处理."));
+                }
+            }
+        }
+    }
+}
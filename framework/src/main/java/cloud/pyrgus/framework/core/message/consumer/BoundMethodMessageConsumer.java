@@ -0,0 +1,89 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Zhang Jiankun
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package cloud.pyrgus.framework.core.message.consumer;
+
+import cloud.pyrgus.framework.Pyrgus;
+import cloud.pyrgus.framework.core.message.Message;
+import cloud.pyrgus.framework.core.task.Task;
+import cloud.pyrgus.framework.core.task.TaskExecutor;
+import cloud.pyrgus.framework.impl.core.interceptor.LocalMethodArgumentResolveInterceptor;
+import lombok.SneakyThrows;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 只绑定一个方法的本地方法消费者, 方法的调用器在创建时即编译完毕, 消费时无需再匹配方法.
+ *
+ * @author <a href="mailto:git@krun.dev">Jiankun-Zhang</a>
+ * @see LocalMethodMessageConsumer#of(Object, Method)
+ * @since 2026/10/17
+ */
+class BoundMethodMessageConsumer implements LocalMethodMessageConsumer {
+
+    private final Object target;
+
+    private final Method method;
+
+    private final LocalMethodInvoker invoker;
+
+    BoundMethodMessageConsumer(@NotNull Object target, @NotNull Method method) {
+        this.target = target;
+        this.method = method;
+        this.invoker = LocalMethodInvoker.of(method);
+    }
+
+    @Override
+    public @NotNull Object getInvokeTarget() {
+        return target;
+    }
+
+    @Override
+    public @NotNull Method matchMethod(@NotNull Message message) {
+        return method;
+    }
+
+    @SneakyThrows
+    @Override
+    public void consume(@NotNull Message message, @NotNull CompletableFuture<Object> future) {
+        Task task = Pyrgus.getInstance().loadService(TaskExecutor.class).executingTask().get();
+        Map<String, Object> context = task.getContext();
+        context.remove(LocalMethodArgumentResolveInterceptor.CTX_KEY_METHOD);
+        Object[] arguments = (Object[]) context.remove(LocalMethodArgumentResolveInterceptor.CTX_KEY_ARGS);
+        try {
+            future.complete(invoker.invoke(target, arguments));
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return method.toString();
+    }
+
+}
@@ -0,0 +1,272 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Zhang Jiankun
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package cloud.pyrgus.framework.core.message.consumer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.*;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 本地方法调用器, 将 {@link Method} 预先编译以避免每次消费都经过 {@link Method#invoke(Object, Object...)}.<br/>
+ * 对于可公开访问且参数较少的方法将使用 {@link LambdaMetafactory} 生成调用类, 其余方法则使用 {@link MethodHandle} 调用.<br/>
+ * 同一方法只会编译一次, 编译结果在所有 {@link LocalMethodMessageConsumer} 之间共享.
+ *
+ * @author <a href="mailto:git@krun.dev">Jiankun-Zhang</a>
+ * @since 2026/10/17
+ */
+@Slf4j
+public abstract class LocalMethodInvoker {
+
+    private static final Map<Method, LocalMethodInvoker> INVOKERS = new ConcurrentHashMap<>();
+
+    private static final Class<?>[] FUNCTIONS = {Function0.class, Function1.class, Function2.class, Function3.class, Function4.class};
+
+    private static final Class<?>[] PROCEDURES = {Procedure0.class, Procedure1.class, Procedure2.class, Procedure3.class, Procedure4.class};
+
+    private final Method method;
+
+    private LocalMethodInvoker(@NotNull Method method) {
+        this.method = method;
+    }
+
+    /**
+     * 获取给定方法的调用器, 首次获取时进行编译.
+     *
+     * @param method 方法实例.
+     * @return 该方法的调用器.
+     * @throws IllegalArgumentException 方法无法被访问时抛出.
+     */
+    @NotNull
+    public static LocalMethodInvoker of(@NotNull Method method) {
+        LocalMethodInvoker invoker = INVOKERS.get(method);
+        if (invoker == null) {
+            invoker = INVOKERS.computeIfAbsent(method, LocalMethodInvoker::compile);
+        }
+        return invoker;
+    }
+
+    private static LocalMethodInvoker compile(Method method) {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            if (isLinkable(method)) {
+                return new LambdaInvoker(method, lookup);
+            }
+        } catch (ReflectiveOperationException | LambdaConversionException | RuntimeException e) {
+            log.debug("link method [ {} ] failed, fall back to method handle: {}", method, e.toString());
+        }
+        try {
+            method.setAccessible(true);
+            return new HandleInvoker(method, lookup.unreflect(method));
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new IllegalArgumentException(String.format("无法访问的方法: [ %s ]", method), e);
+        }
+    }
+
+    private static boolean isLinkable(Method method) {
+        Class<?> declaringClass = method.getDeclaringClass();
+        if (!Modifier.isPublic(method.getModifiers()) || !Modifier.isPublic(declaringClass.getModifiers())) {
+            return false;
+        }
+        int arity = method.getParameterCount() + (Modifier.isStatic(method.getModifiers()) ? 0 : 1);
+        if (arity >= FUNCTIONS.length) {
+            return false;
+        }
+        try {
+            return Class.forName(declaringClass.getName(), false, LocalMethodInvoker.class.getClassLoader()) == declaringClass;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 获取此调用器对应的方法.
+     *
+     * @return 方法实例.
+     */
+    @NotNull
+    public Method getMethod() {
+        return method;
+    }
+
+    /**
+     * 调用方法, 与 {@link Method#invoke(Object, Object...)} 不同, 方法抛出的异常将原样抛出而不会被包装.
+     *
+     * @param target    调用的目标对象, 静态方法时忽略.
+     * @param arguments 参数列表, 长度应与方法参数数量一致.
+     * @return 方法的返回值, 返回类型为 {@code void} 时为 {@code null}.
+     * @throws Throwable 方法执行时抛出的异常.
+     */
+    @Nullable
+    public abstract Object invoke(@Nullable Object target, @Nullable Object[] arguments) throws Throwable;
+
+    private static final class HandleInvoker extends LocalMethodInvoker {
+
+        private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+        private final MethodHandle handle;
+
+        private HandleInvoker(Method method, MethodHandle handle) {
+            super(method);
+            if (Modifier.isStatic(method.getModifiers())) {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            this.handle = handle.asSpreader(Object[].class, method.getParameterCount()).asType(INVOKER_TYPE);
+        }
+
+        @Override
+        public Object invoke(Object target, Object[] arguments) throws Throwable {
+            return (Object) handle.invokeExact(target, arguments);
+        }
+
+    }
+
+    private static final class LambdaInvoker extends LocalMethodInvoker {
+
+        private final Object function;
+
+        private final int arity;
+
+        private final boolean withTarget;
+
+        private final boolean returning;
+
+        private LambdaInvoker(Method method, MethodHandles.Lookup lookup) throws ReflectiveOperationException, LambdaConversionException {
+            super(method);
+            MethodHandle handle = lookup.unreflect(method);
+            MethodType type = handle.type();
+            this.arity = type.parameterCount();
+            this.withTarget = !Modifier.isStatic(method.getModifiers());
+            this.returning = type.returnType() != void.class;
+            Class<?> functionType = (returning ? FUNCTIONS : PROCEDURES)[arity];
+            MethodType erased = MethodType.genericMethodType(arity);
+            if (!returning) {
+                erased = erased.changeReturnType(void.class);
+            }
+            CallSite callSite = LambdaMetafactory.metafactory(lookup, "invoke", MethodType.methodType(functionType),
+                    erased, handle, type.wrap().changeReturnType(returning ? type.wrap().returnType() : void.class));
+            try {
+                this.function = callSite.getTarget().invoke();
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new LambdaConversionException(e.toString(), e);
+            }
+        }
+
+        private Object argument(Object target, Object[] arguments, int index) {
+            if (withTarget) {
+                return index == 0 ? target : arguments[index - 1];
+            }
+            return arguments[index];
+        }
+
+        @Override
+        public Object invoke(Object target, Object[] arguments) {
+            if (returning) {
+                switch (arity) {
+                    case 0:
+                        return ((Function0) function).invoke();
+                    case 1:
+                        return ((Function1) function).invoke(argument(target, arguments, 0));
+                    case 2:
+                        return ((Function2) function).invoke(argument(target, arguments, 0), argument(target, arguments, 1));
+                    case 3:
+                        return ((Function3) function).invoke(argument(target, arguments, 0), argument(target, arguments, 1),
+                                argument(target, arguments, 2));
+                    default:
+                        return ((Function4) function).invoke(argument(target, arguments, 0), argument(target, arguments, 1),
+                                argument(target, arguments, 2), argument(target, arguments, 3));
+                }
+            }
+            switch (arity) {
+                case 0:
+                    ((Procedure0) function).invoke();
+                    break;
+                case 1:
+                    ((Procedure1) function).invoke(argument(target, arguments, 0));
+                    break;
+                case 2:
+                    ((Procedure2) function).invoke(argument(target, arguments, 0), argument(target, arguments, 1));
+                    break;
+                case 3:
+                    ((Procedure3) function).invoke(argument(target, arguments, 0), argument(target, arguments, 1),
+                            argument(target, arguments, 2));
+                    break;
+                default:
+                    ((Procedure4) function).invoke(argument(target, arguments, 0), argument(target, arguments, 1),
+                            argument(target, arguments, 2), argument(target, arguments, 3));
+            }
+            return null;
+        }
+
+    }
+
+    interface Function0 {
+        Object invoke();
+    }
+
+    interface Function1 {
+        Object invoke(Object a0);
+    }
+
+    interface Function2 {
+        Object invoke(Object a0, Object a1);
+    }
+
+    interface Function3 {
+        Object invoke(Object a0, Object a1, Object a2);
+    }
+
+    interface Function4 {
+        Object invoke(Object a0, Object a1, Object a2, Object a3);
+    }
+
+    interface Procedure0 {
+        void invoke();
+    }
+
+    interface Procedure1 {
+        void invoke(Object a0);
+    }
+
+    interface Procedure2 {
+        void invoke(Object a0, Object a1);
+    }
+
+    interface Procedure3 {
+        void invoke(Object a0, Object a1, Object a2);
+    }
+
+    interface Procedure4 {
+        void invoke(Object a0, Object a1, Object a2, Object a3);
+    }
+
+}
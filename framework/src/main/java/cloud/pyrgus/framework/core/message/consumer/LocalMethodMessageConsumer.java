@@ -27,15 +27,15 @@ package cloud.pyrgus.framework.core.message.consumer;
 import cloud.pyrgus.framework.Pyrgus;
 import cloud.pyrgus.framework.core.message.Message;
 import cloud.pyrgus.framework.core.message.MessageConsumer;
+import cloud.pyrgus.framework.core.task.Mode;
 import cloud.pyrgus.framework.core.task.Task;
 import cloud.pyrgus.framework.core.task.TaskExecutor;
 import cloud.pyrgus.framework.impl.core.interceptor.LocalMethodArgumentResolveInterceptor;
 import lombok.SneakyThrows;
 import org.jetbrains.annotations.NotNull;
 
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.util.Map;
+import java.util.*;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -63,23 +63,113 @@ public interface LocalMethodMessageConsumer extends MessageConsumer {
     @NotNull
     Method matchMethod(@NotNull Message message);
 
+    /**
+     * 创建一个微批处理消费者, 将多条消息的载荷累积为一个 {@link java.util.List} 后调用一次方法, 适用于批量写入等场景.<br/>
+     * 以名称注册到 {@link cloud.pyrgus.framework.impl.core.message.NamedMessageDispatcher} 时即按消费者名称累积批次.
+     *
+     * @param target       方法的目标对象, 静态方法时不会被使用.
+     * @param method       只接受一个 {@link java.util.List} 参数的方法.
+     * @param maxBatchSize 批次中的消息数量上限, 达到上限时立即处理.
+     * @param lingerMillis 批次中首条消息的最长等待毫秒数, 超时后即使未达到上限也会处理.
+     * @return 消息消费者实例, 超时的批次以 {@link Mode#IO} 模式处理.
+     */
+    @NotNull
+    static MessageConsumer batching(@NotNull Object target, @NotNull Method method, int maxBatchSize, long lingerMillis) {
+        return batching(target, method, maxBatchSize, lingerMillis, Mode.IO);
+    }
+
+    /**
+     * 创建一个微批处理消费者, 并指定超时批次的执行模式.
+     *
+     * @param target       方法的目标对象, 静态方法时不会被使用.
+     * @param method       只接受一个 {@link java.util.List} 参数的方法.
+     * @param maxBatchSize 批次中的消息数量上限, 达到上限时立即处理.
+     * @param lingerMillis 批次中首条消息的最长等待毫秒数, 超时后即使未达到上限也会处理.
+     * @param flushMode    超时的批次提交给 {@link TaskExecutor} 时使用的执行模式.
+     * @return 消息消费者实例.
+     * @see #batching(Object, Method, int, long)
+     */
+    @NotNull
+    static MessageConsumer batching(@NotNull Object target, @NotNull Method method, int maxBatchSize, long lingerMillis, @NotNull Mode flushMode) {
+        return new BatchingMessageConsumer(target, method, maxBatchSize, lingerMillis, flushMode);
+    }
+
+    /**
+     * 创建一个只绑定给定方法的消费者, 消费时不再匹配方法.
+     *
+     * @param target 方法的目标对象, 静态方法时不会被使用.
+     * @param method 消息处理方法.
+     * @return 消息消费者实例.
+     */
+    @NotNull
+    static LocalMethodMessageConsumer of(@NotNull Object target, @NotNull Method method) {
+        return new BoundMethodMessageConsumer(target, method);
+    }
+
+    /**
+     * 为目标对象 (包括其父类) 上所有标记了 {@link MessageHandler} 的方法创建消费者, 被子类重写的方法以子类为准.
+     *
+     * @param target 声明了消息处理方法的对象.
+     * @return 以消费者名称为键的消费者, 没有处理方法时返回空表.
+     * @throws IllegalStateException 同一对象上存在同名的处理方法时抛出.
+     */
+    @NotNull
+    static Map<String, MessageConsumer> handlersOf(@NotNull Object target) {
+        Map<String, MessageConsumer> handlers = new LinkedHashMap<>();
+        Map<String, Method> methods = new HashMap<>();
+        Set<String> signatures = new HashSet<>();
+        for (Class<?> type = target.getClass(); type != null && !Object.class.equals(type); type = type.getSuperclass()) {
+            for (Method method : type.getDeclaredMethods()) {
+                MessageHandler handler = method.getAnnotation(MessageHandler.class);
+                if (handler == null || method.isBridge()
+                        || !signatures.add(method.getName() + Arrays.toString(method.getParameterTypes()))) {
+                    continue;
+                }
+                String name = handler.value().isEmpty() ? method.getName() : handler.value();
+                Method previous = methods.putIfAbsent(name, method);
+                if (previous != null) {
+                    throw new IllegalStateException(String.format("消息处理方法名称重复: [ %s ] %s, %s", name, previous, method));
+                }
+                handlers.put(name, handler.maxBatchSize() > 1
+                        ? batching(target, method, handler.maxBatchSize(), handler.lingerMillis(), handler.flushMode())
+                        : of(target, method));
+            }
+        }
+        return handlers;
+    }
+
+    /**
+     * 判断类型 (包括其父类) 上是否声明了标记 {@link MessageHandler} 的方法, 不需要创建实例.
+     *
+     * @param type 需要检查的类型.
+     * @return 存在消息处理方法时返回 {@code true}.
+     */
+    static boolean declaresHandlers(@NotNull Class<?> type) {
+        for (Class<?> current = type; current != null && !Object.class.equals(current); current = current.getSuperclass()) {
+            for (Method method : current.getDeclaredMethods()) {
+                if (!method.isBridge() && method.isAnnotationPresent(MessageHandler.class)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     @SneakyThrows
     @Override
     default void consume(@NotNull Message message, @NotNull CompletableFuture<Object> future) {
         Object target = getInvokeTarget();
-        Method method = matchMethod(message);
         Task task = Pyrgus.getInstance().loadService(TaskExecutor.class).executingTask().get();
+        Map<String, Object> context = task.getContext();
+        Method method = (Method) context.remove(LocalMethodArgumentResolveInterceptor.CTX_KEY_METHOD);
+        if (method == null) {
+            method = matchMethod(message);
+        }
+        Object[] arguments = (Object[]) context.remove(LocalMethodArgumentResolveInterceptor.CTX_KEY_ARGS);
         try {
-            Map<String, Object> context = task.getContext();
-            String key = LocalMethodArgumentResolveInterceptor.CTX_KEY_ARGS;
-            Object[] arguments = (Object[]) context.get(key);
-            Object value = method.invoke(target, arguments);
-            context.remove(key);
-            future.complete(value);
-        } catch (IllegalAccessException e) {
+            future.complete(LocalMethodInvoker.of(method).invoke(target, arguments));
+        } catch (Throwable e) {
             future.completeExceptionally(e);
-        } catch (InvocationTargetException e) {
-            future.completeExceptionally(e.getTargetException());
         }
     }
 
@@ -0,0 +1,73 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Zhang Jiankun
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package cloud.pyrgus.framework.core.message.consumer;
+
+import cloud.pyrgus.framework.core.task.Mode;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 标记 {@link cloud.pyrgus.framework.core.service.Service} 上的消息处理方法.
+ * {@link cloud.pyrgus.framework.impl.core.message.NamedMessageDispatcher} 配置时会为每个处理方法生成一个只绑定该方法的消费者并以名称注册, 例如:
+ * <pre>
+ * public class OrderService implements Service {
+ *     &#64;MessageHandler("order.create")
+ *     public Order create(&#64;MessagePayload CreateOrder command) { ... }
+ * }
+ * </pre>
+ *
+ * @author <a href="mailto:git@krun.dev">Jiankun-Zhang</a>
+ * @see LocalMethodMessageConsumer#handlersOf(Object)
+ * @since 2026/10/17
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface MessageHandler {
+
+    /**
+     * @return 消费者名称, 为空时使用方法名.
+     */
+    String value() default "";
+
+    /**
+     * @return 大于 1 时以微批处理方式消费, 方法必须只接受一个 {@link java.util.List} 参数,
+     * 请参阅 {@link LocalMethodMessageConsumer#batching(Object, java.lang.reflect.Method, int, long)}.
+     */
+    int maxBatchSize() default 1;
+
+    /**
+     * @return 微批处理时批次中首条消息的最长等待毫秒数.
+     */
+    long lingerMillis() default 0;
+
+    /**
+     * @return 微批处理时等待超时的批次提交给 {@link cloud.pyrgus.framework.core.task.TaskExecutor} 的执行模式.
+     */
+    Mode flushMode() default Mode.IO;
+
+}
@@ -24,6 +24,8 @@
 
 package cloud.pyrgus.framework.core.service;
 
+import org.jetbrains.annotations.NotNull;
+
 /**
  * {@link ServiceRegistry} 构造器, 用于允许在合适的时机初始化服务注册表.
  *
@@ -39,4 +41,14 @@ public interface ServiceRegisterBuilder {
      */
     ServiceRegistry build();
 
+    /**
+     * 构建 {@link ServiceRegistry} 实例, 并将构建过程中各阶段与各服务的耗时记录至 {@code profiler}.
+     *
+     * @param profiler 启动耗时记录器.
+     * @return 服务注册表实例.
+     */
+    default ServiceRegistry build(@NotNull StartupProfiler profiler) {
+        return profiler.time("registry", this::build);
+    }
+
 }
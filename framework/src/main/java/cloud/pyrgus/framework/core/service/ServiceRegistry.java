@@ -29,6 +29,7 @@ import cloud.pyrgus.framework.core.service.exception.ServiceNotRegisteredExcepti
 import cloud.pyrgus.framework.core.service.exception.ServiceNotUniqueException;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -60,4 +61,22 @@ public interface ServiceRegistry {
      */
     @NotNull <S extends Service> List<S> loadServices(@NotNull Class<S> serviceType);
 
+    /**
+     * 获取注册为指定服务类型的所有实现类, 用于在不创建实例的前提下检查实现类 (例如查找标记了注解的方法).<br/>
+     * 默认实现通过 {@link #loadServices(Class)} 获取, 因此会创建并配置所有实例, 注册表实现应尽量避免这种开销.
+     *
+     * @param serviceType 服务类型.
+     * @param <S>         服务类型.
+     * @return 实现类列表, 没有实现时返回空集合.
+     */
+    @SuppressWarnings("unchecked")
+    @NotNull
+    default <S extends Service> List<Class<? extends S>> getServiceClasses(@NotNull Class<S> serviceType) {
+        List<Class<? extends S>> classes = new ArrayList<>();
+        for (S service : loadServices(serviceType)) {
+            classes.add((Class<? extends S>) service.getClass());
+        }
+        return classes;
+    }
+
 }
@@ -0,0 +1,121 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Zhang Jiankun
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package cloud.pyrgus.framework.core.service;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * 记录 Pyrgus 启动过程中各阶段与各服务的耗时, 可以被多个线程同时写入.<br/>
+ * 同名阶段的耗时将被累加, 因此可以在循环中多次记录同一个阶段.
+ *
+ * @author <a href="mailto:git@krun.dev">Jiankun-Zhang</a>
+ * @since 2026/10/17
+ */
+public class StartupProfiler {
+
+    private final long origin = System.nanoTime();
+
+    private long stoppedAt = 0;
+
+    private final Map<String, Long> phases = new LinkedHashMap<>();
+
+    private final Map<String, long[]> services = new LinkedHashMap<>();
+
+    /**
+     * 执行并记录某个阶段.
+     *
+     * @param phase  阶段名称.
+     * @param action 阶段内容.
+     * @param <T>    阶段产出的类型.
+     * @return 阶段产出.
+     */
+    public <T> T time(@NotNull String phase, @NotNull Supplier<T> action) {
+        long start = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            phase(phase, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * 累加某个阶段的耗时.
+     *
+     * @param phase 阶段名称.
+     * @param nanos 耗时 (纳秒).
+     */
+    public synchronized void phase(@NotNull String phase, long nanos) {
+        phases.merge(phase, nanos, Long::sum);
+    }
+
+    /**
+     * 记录服务实例的创建耗时.
+     *
+     * @param type  服务实现类.
+     * @param nanos 耗时 (纳秒).
+     */
+    public synchronized void instantiated(@NotNull Class<?> type, long nanos) {
+        services.computeIfAbsent(type.getName(), name -> new long[2])[0] += nanos;
+    }
+
+    /**
+     * 记录服务实例首次配置的耗时, 不应包括配置过程中嵌套配置其依赖的时间.
+     *
+     * @param type  服务实现类.
+     * @param nanos 耗时 (纳秒).
+     */
+    public synchronized void configured(@NotNull Class<?> type, long nanos) {
+        services.computeIfAbsent(type.getName(), name -> new long[2])[1] += nanos;
+    }
+
+    /**
+     * 结束计时, 此后生成的报告中的总耗时不再变化, 但仍然可以继续记录各阶段与各服务的耗时.
+     */
+    public synchronized void stop() {
+        if (stoppedAt == 0) {
+            stoppedAt = System.nanoTime();
+        }
+    }
+
+    /**
+     * 生成当前记录的快照. 延迟配置的服务在首次被加载后才会出现在报告中.
+     *
+     * @return 启动报告.
+     */
+    public synchronized StartupReport report() {
+        List<StartupReport.ServiceTiming> timings = new ArrayList<>(services.size());
+        services.forEach((type, nanos) -> timings.add(new StartupReport.ServiceTiming(type, nanos[0], nanos[1])));
+        timings.sort(Comparator.comparingLong(StartupReport.ServiceTiming::getTotalNanos).reversed());
+        return new StartupReport(
+                (stoppedAt == 0 ? System.nanoTime() : stoppedAt) - origin,
+                Collections.unmodifiableMap(new LinkedHashMap<>(phases)),
+                Collections.unmodifiableList(timings)
+        );
+    }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Zhang Jiankun
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package cloud.pyrgus.framework.core.service;
+
+import lombok.Value;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link StartupProfiler} 的快照.
+ *
+ * @author <a href="mailto:git@krun.dev">Jiankun-Zhang</a>
+ * @since 2026/10/17
+ */
+@Value
+public class StartupReport {
+
+    /**
+     * {@link #toString()} 中列出的最慢服务数量.
+     */
+    private static final int SLOWEST_SERVICES = 5;
+
+    /**
+     * 从开始记录到结束计时 (尚未结束时为生成快照时) 经过的时间 (纳秒).
+     */
+    long totalNanos;
+
+    /**
+     * 按首次记录顺序排列的各阶段累计耗时 (纳秒).
+     */
+    Map<String, Long> phases;
+
+    /**
+     * 按总耗时降序排列的各服务耗时.
+     */
+    List<ServiceTiming> services;
+
+    /**
+     * 生成适合输出到单行日志的摘要, 包括所有阶段与最慢的几个服务.
+     *
+     * @return 报告摘要.
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("total=").append(millis(totalNanos)).append("ms");
+        phases.forEach((phase, nanos) -> builder.append(", ").append(phase).append('=').append(millis(nanos)).append("ms"));
+        builder.append(", services=").append(services.size());
+        int limit = Math.min(SLOWEST_SERVICES, services.size());
+        if (limit > 0) {
+            builder.append(", slowest=[");
+            for (int i = 0; i < limit; i++) {
+                ServiceTiming timing = services.get(i);
+                builder.append(i == 0 ? "" : ", ").append(timing.getType()).append('=').append(millis(timing.getTotalNanos())).append("ms");
+            }
+            builder.append(']');
+        }
+        return builder.toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    /**
+     * 单个服务实现类的耗时.
+     */
+    @Value
+    public static class ServiceTiming {
+
+        /**
+         * 服务实现类名称.
+         */
+        String type;
+
+        /**
+         * 创建实例的耗时 (纳秒).
+         */
+        long instantiateNanos;
+
+        /**
+         * 首次配置的耗时 (纳秒), 不包括配置过程中嵌套配置其依赖的时间.
+         */
+        long configureNanos;
+
+        public long getTotalNanos() {
+            return instantiateNanos + configureNanos;
+        }
+    }
+
+}
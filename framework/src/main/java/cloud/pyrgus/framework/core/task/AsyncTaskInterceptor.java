@@ -0,0 +1,70 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Zhang Jiankun
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package cloud.pyrgus.framework.core.task;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * 异步任务拦截器, 适用于需要等待 I/O (鉴权查询、限流检查等) 才能决定是否继续执行的场景.<br/>
+ * {@link TaskInterceptorChain} 遇到尚未完成的 {@link #beforeAsync(Task)} 时会挂起拦截器链并立即释放当前线程,
+ * 阶段完成后再由执行器继续执行后续拦截器与消费者, 因此少量工作线程即可驱动大量并发任务.<br/>
+ * 挂起前已进入的 {@link BeforeAfterTaskInterceptor} 的后置处理会推迟到继续执行的拦截器与消费者返回之后.
+ *
+ * @author <a href="mailto:git@krun.dev">Jiankun-Zhang</a>
+ * @since 2026/10/17
+ */
+public interface AsyncTaskInterceptor extends TaskInterceptor {
+
+    /**
+     * 在消费者消费消息前执行.
+     *
+     * @param task 当前任务.
+     * @return 以 {@code true} 完成时继续执行拦截器链; 以 {@code false} 完成时中断拦截器链, 此时拦截器应自行结束 {@link Task#getFuture()};
+     * 异常完成时以该异常结束任务.
+     */
+    @NotNull
+    CompletionStage<Boolean> beforeAsync(@NotNull Task task);
+
+    /**
+     * 以阻塞方式执行, 仅供不识别异步拦截器的拦截器链使用, 将等待 {@link #beforeAsync(Task)} 完成.
+     */
+    @Override
+    default void intercept(Task task, TaskInterceptorChain chain) {
+        boolean proceed;
+        try {
+            proceed = Boolean.TRUE.equals(beforeAsync(task).toCompletableFuture().join());
+        } catch (CompletionException e) {
+            task.getFuture().completeExceptionally(e.getCause() == null ? e : e.getCause());
+            return;
+        }
+        if (proceed) {
+            chain.next();
+        }
+    }
+
+}
@@ -0,0 +1,75 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Zhang Jiankun
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package cloud.pyrgus.framework.core.task;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * 前后置风格的任务拦截器. 与需要调用 {@link TaskInterceptorChain#next()} 的环绕式拦截器不同,
+ * {@link TaskInterceptorChain} 会在同一个循环中依次执行连续的前后置拦截器, 不会随拦截器数量增加调用栈深度.<br/>
+ * 所有已执行 {@link #before(Task)} 且返回 {@code true} 的拦截器, 都会在消费结束 (或被后续拦截器中断) 后按相反顺序执行 {@link #after(Task, Throwable)}.
+ *
+ * @author <a href="mailto:git@krun.dev">Jiankun-Zhang</a>
+ * @since 2026/10/17
+ */
+public interface BeforeAfterTaskInterceptor extends TaskInterceptor {
+
+    /**
+     * 在消费者消费消息前执行.
+     *
+     * @param task 当前任务.
+     * @return 返回 {@code false} 时中断拦截器链, 消费者与后续拦截器均不会执行, 此时拦截器应自行结束 {@link Task#getFuture()}.
+     */
+    boolean before(Task task);
+
+    /**
+     * 在消费者消费消息后执行, 即使消费过程抛出异常也会执行.
+     *
+     * @param task  当前任务.
+     * @param error 消费过程抛出的异常, 正常结束时为 {@code null}.
+     */
+    default void after(Task task, @Nullable Throwable error) {
+    }
+
+    /**
+     * 以环绕方式执行, 供不识别前后置拦截器的拦截器链使用.
+     */
+    @Override
+    default void intercept(Task task, TaskInterceptorChain chain) {
+        if (!before(task)) {
+            return;
+        }
+        Throwable error = null;
+        try {
+            chain.next();
+        } catch (Throwable e) {
+            error = e;
+            throw e;
+        } finally {
+            after(task, error);
+        }
+    }
+
+}
@@ -31,6 +31,8 @@ import io.vavr.control.Option;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
@@ -55,6 +57,24 @@ public interface TaskExecutor extends Service {
     @Nullable
     Task submit(@NotNull Message message, @NotNull MessageConsumer consumer, @Nullable Map<String, Object> state, @NotNull Mode mode);
 
+    /**
+     * 批量提交任务. 默认实现逐条调用 {@link #submit(Message, MessageConsumer, Map, Mode)}, 实现方可以一次性将整批任务交给执行线程.
+     *
+     * @param messages  此次任务涉及的消息实例
+     * @param consumers 与消息一一对应的消息消费者
+     * @param state     此次任务由外部共享的状态, 参见 {@link #submit(Message, MessageConsumer, Map, Mode)}.
+     * @param mode      此次任务的执行模式
+     * @return 与消息一一对应的 {@link Task} 实例, 提交失败的消息对应 {@code null}.
+     */
+    @NotNull
+    default List<Task> submitAll(@NotNull List<Message> messages, @NotNull List<MessageConsumer> consumers, @Nullable Map<String, Object> state, @NotNull Mode mode) {
+        List<Task> tasks = new ArrayList<>(messages.size());
+        for (int i = 0; i < messages.size(); i++) {
+            tasks.add(submit(messages.get(i), consumers.get(i), state, mode));
+        }
+        return tasks;
+    }
+
     /**
      * 执行任务.
      *
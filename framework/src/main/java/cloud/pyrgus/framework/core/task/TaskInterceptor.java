@@ -24,9 +24,14 @@
 
 package cloud.pyrgus.framework.core.task;
 
+import cloud.pyrgus.framework.core.message.MessageConsumer;
 import cloud.pyrgus.framework.core.service.Service;
+import org.jetbrains.annotations.NotNull;
 
 /**
+ * 任务拦截器, 在消费者消费消息前后执行.<br/>
+ * 执行器按消费者类型通过 {@link #appliesTo(Class)} 预先确定适用的拦截器, 只有适用的拦截器会被加入该类型消费者的拦截器链.
+ *
  * @author <a href="mailto:git@krun.dev">Jiankun-Zhang</a>
  * @since 2022/4/14
  */
@@ -34,4 +39,14 @@ public interface TaskInterceptor extends Service {
 
     void intercept(Task task, TaskInterceptorChain chain);
 
+    /**
+     * 判断此拦截器是否适用于指定类型的消费者, 执行器对每个消费者类型只调用一次并缓存结果.
+     *
+     * @param consumerType 消费者类型.
+     * @return 默认适用于所有消费者.
+     */
+    default boolean appliesTo(@NotNull Class<? extends MessageConsumer> consumerType) {
+        return true;
+    }
+
 }
@@ -24,32 +24,302 @@
 
 package cloud.pyrgus.framework.core.task;
 
+import lombok.SneakyThrows;
+
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 
 /**
+ * 拦截器链, 每次调用 {@link #next()} 执行下一个拦截器, 全部执行完毕后交由消费者消费.<br/>
+ * 连续的 {@link BeforeAfterTaskInterceptor} 与 {@link AsyncTaskInterceptor} 在同一次 {@link #next()} 调用中循环执行, 只有环绕式拦截器会使调用栈加深.<br/>
+ * {@link AsyncTaskInterceptor} 返回尚未完成的阶段时, 链的剩余部分被复制到新的实例中挂起, 原实例随即可以被复用,
+ * 阶段完成后通过 {@link #resumeWith(Resumer)} 指定的 {@link Resumer} 继续执行, 默认在完成阶段的线程中继续.
+ * 挂起位置之前已进入的 {@link BeforeAfterTaskInterceptor} 的后置处理随剩余部分一起移交, 在继续执行的链返回或抛出异常后才执行;
+ * 继续执行时抛出的异常将用于结束 {@link Task#getFuture()}.<br/>
+ * 执行器可以通过 {@link #reset(Task, List)} 在同一线程中复用链实例, 因此拦截器不应在 {@link TaskInterceptor#intercept(Task, TaskInterceptorChain)} 返回后继续持有链.
+ *
  * @author <a href="mailto:git@krun.dev">Jiankun-Zhang</a>
  * @since 2022/4/14
  */
 public class TaskInterceptorChain {
 
-    private final Task task;
+    private static final byte AROUND = 0;
+
+    private static final byte BEFORE_AFTER = 1;
+
+    private static final byte ASYNC = 2;
+
+    private static final Resumer DIRECT = (task, continuation) -> continuation.run();
+
+    private Task task;
+
+    private List<TaskInterceptor> interceptors;
 
-    private final List<TaskInterceptor> interceptors;
+    /**
+     * 最近一次分类的拦截器列表, 即使 {@link #reset(Task, List)} 释放了引用也保留, 以便执行器反复传入同一列表时无需重新分类.
+     */
+    private List<TaskInterceptor> classified = null;
+
+    /**
+     * 与 {@link #classified} 一一对应, 记录各位置的拦截器种类, 避免每次执行时进行接口类型检查.
+     */
+    private byte[] kinds = new byte[0];
+
+    private Resumer resumer = DIRECT;
 
     private int offset = 0;
 
+    /**
+     * 当前链在某次 {@link #next()} 中被挂起, 剩余部分已移交给新的实例.
+     */
+    private boolean suspended = false;
+
+    /**
+     * 从被挂起的链移交而来、需要在本实例执行完毕后执行的后置处理.
+     */
+    private Deferred deferred = null;
+
     public TaskInterceptorChain(Task task, List<TaskInterceptor> interceptors) {
         this.task = task;
         this.interceptors = interceptors;
+        classify(interceptors);
+    }
+
+    /**
+     * 复制挂起位置之后的链.
+     */
+    private TaskInterceptorChain(TaskInterceptorChain suspended) {
+        this.task = suspended.task;
+        this.interceptors = suspended.interceptors;
+        this.classified = suspended.classified;
+        this.kinds = suspended.kinds;
+        this.resumer = suspended.resumer;
+        this.offset = suspended.offset;
+    }
+
+    /**
+     * 重新绑定任务与拦截器并回到链首, 不会改变 {@link #resumeWith(Resumer)} 的设置.
+     *
+     * @param task         需要执行的任务, 为 {@code null} 时仅释放对上一个任务的引用.
+     * @param interceptors 需要执行的拦截器, 绑定期间不应被修改.
+     * @return 当前链实例.
+     */
+    public TaskInterceptorChain reset(Task task, List<TaskInterceptor> interceptors) {
+        this.task = task;
+        this.interceptors = interceptors;
+        this.offset = 0;
+        this.suspended = false;
+        this.deferred = null;
+        classify(interceptors);
+        return this;
+    }
+
+    /**
+     * 指定 {@link AsyncTaskInterceptor} 完成后继续执行链的方式.
+     *
+     * @param resumer 为 {@code null} 时在完成阶段的线程中直接继续.
+     * @return 当前链实例.
+     */
+    public TaskInterceptorChain resumeWith(Resumer resumer) {
+        this.resumer = resumer == null ? DIRECT : resumer;
+        return this;
+    }
+
+    private void classify(List<TaskInterceptor> interceptors) {
+        if (interceptors == null || interceptors == classified) {
+            return;
+        }
+        byte[] kinds = new byte[interceptors.size()];
+        for (int i = 0; i < kinds.length; i++) {
+            TaskInterceptor interceptor = interceptors.get(i);
+            if (interceptor instanceof AsyncTaskInterceptor) {
+                kinds[i] = ASYNC;
+            } else if (interceptor instanceof BeforeAfterTaskInterceptor) {
+                kinds[i] = BEFORE_AFTER;
+            } else {
+                kinds[i] = AROUND;
+            }
+        }
+        this.kinds = kinds;
+        this.classified = interceptors;
     }
 
     public void next() {
         if (offset == interceptors.size()) {
             task.getConsumer().consume(task.getMessage(), task.getFuture());
+            return;
+        }
+        if (kinds[offset] == AROUND) {
+            interceptors.get(offset++).intercept(task, this);
         } else {
-            TaskInterceptor interceptor = interceptors.get(offset++);
-            interceptor.intercept(task, this);
+            proceed();
+        }
+    }
+
+    /**
+     * 循环执行从当前位置开始的连续前后置拦截器与异步拦截器, 直到遇到环绕式拦截器、链被挂起或到达链尾.
+     * 与 {@link #next()} 分离以保持后者足够小, 使纯环绕式的链仍能被 JIT 内联.
+     */
+    private void proceed() {
+        int start = offset;
+        int entered = start;
+        Throwable error = null;
+        try {
+            while (offset < interceptors.size()) {
+                TaskInterceptor interceptor = interceptors.get(offset);
+                byte kind = kinds[offset++];
+                if (kind == AROUND) {
+                    interceptor.intercept(task, this);
+                    return;
+                }
+                if (kind == ASYNC ? !await((AsyncTaskInterceptor) interceptor, start, entered) : !((BeforeAfterTaskInterceptor) interceptor).before(task)) {
+                    if (suspended) {
+                        entered = start;
+                    }
+                    return;
+                }
+                entered = offset;
+            }
+            task.getConsumer().consume(task.getMessage(), task.getFuture());
+        } catch (Throwable e) {
+            error = e;
+            throw e;
+        } finally {
+            if (entered > start) {
+                after(start, entered, error);
+            }
         }
     }
 
+    /**
+     * 执行异步拦截器, 已经完成的阶段直接在当前线程中继续, 否则挂起链的剩余部分,
+     * 并将 {@code [start, entered)} 范围内的后置处理连同本实例尚未执行的后置处理一起移交给剩余部分.
+     *
+     * @return 是否在当前线程中继续执行.
+     */
+    @SuppressWarnings("unchecked")
+    private boolean await(AsyncTaskInterceptor interceptor, int start, int entered) {
+        Task task = this.task;
+        CompletionStage<Boolean> stage = interceptor.beforeAsync(task);
+        if (stage instanceof CompletableFuture) {
+            CompletableFuture<Boolean> future = (CompletableFuture<Boolean>) stage;
+            if (future.isDone() && !future.isCompletedExceptionally()) {
+                return Boolean.TRUE.equals(future.join());
+            }
+        }
+        TaskInterceptorChain continuation = new TaskInterceptorChain(this);
+        continuation.deferred = entered > start ? new Deferred(start, entered, deferred) : deferred;
+        deferred = null;
+        suspended = true;
+        stage.whenComplete((proceed, error) -> {
+            if (error != null) {
+                continuation.finish(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+            } else if (Boolean.TRUE.equals(proceed) && !task.getFuture().isDone()) {
+                continuation.resumer.resume(task, continuation::resume);
+            } else {
+                continuation.finish(null);
+            }
+        });
+        return false;
+    }
+
+    /**
+     * 继续执行挂起的链, 异常不会被抛出而是用于结束任务.
+     */
+    private void resume() {
+        Throwable error = null;
+        try {
+            next();
+        } catch (Throwable e) {
+            error = e;
+        }
+        if (suspended) {
+            if (error != null) {
+                task.getFuture().completeExceptionally(error);
+            }
+        } else {
+            finish(error);
+        }
+    }
+
+    /**
+     * 执行移交而来的后置处理, 存在异常时以该异常结束任务.
+     */
+    private void finish(Throwable error) {
+        for (Deferred hooks = deferred; hooks != null; hooks = hooks.next) {
+            try {
+                after(hooks.start, hooks.entered, error);
+            } catch (Throwable e) {
+                error = e;
+            }
+        }
+        deferred = null;
+        if (error != null) {
+            task.getFuture().completeExceptionally(error);
+        }
+    }
+
+    /**
+     * 按相反顺序执行已进入的前后置拦截器的后置处理, 某个后置处理抛出异常时其余后置处理仍会执行, 与嵌套的 {@code finally} 保持一致.
+     */
+    @SneakyThrows
+    private void after(int start, int entered, Throwable error) {
+        Throwable thrown = null;
+        for (int i = entered - 1; i >= start; i--) {
+            if (kinds[i] != BEFORE_AFTER) {
+                continue;
+            }
+            try {
+                ((BeforeAfterTaskInterceptor) interceptors.get(i)).after(task, thrown == null ? error : thrown);
+            } catch (Throwable e) {
+                if (thrown != null) {
+                    e.addSuppressed(thrown);
+                }
+                thrown = e;
+            }
+        }
+        if (thrown != null) {
+            if (error != null) {
+                thrown.addSuppressed(error);
+            }
+            throw thrown;
+        }
+    }
+
+    /**
+     * 挂起时尚未执行的一段后置处理, 内层的段在前.
+     */
+    private static final class Deferred {
+
+        private final int start;
+
+        private final int entered;
+
+        private final Deferred next;
+
+        private Deferred(int start, int entered, Deferred next) {
+            this.start = start;
+            this.entered = entered;
+            this.next = next;
+        }
+    }
+
+    /**
+     * 挂起的链在 {@link AsyncTaskInterceptor} 完成后继续执行的方式, 由执行器决定在哪个线程中继续.
+     */
+    @FunctionalInterface
+    public interface Resumer {
+
+        /**
+         * 继续执行挂起的链.
+         *
+         * @param task         挂起的任务.
+         * @param continuation 继续执行链的剩余部分.
+         */
+        void resume(Task task, Runnable continuation);
+
+    }
+
 }
@@ -0,0 +1,58 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Zhang Jiankun
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package cloud.pyrgus.framework.impl.core.argument_resolver;
+
+import cloud.pyrgus.framework.core.message.Message;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+
+/**
+ * 参数提取器, 由 {@link ArgumentResolver#prepare(java.lang.reflect.Parameter)} 针对单个参数预先生成,
+ * 消费消息时直接从消息与状态中提取参数值而无需再次检查参数声明.
+ *
+ * @author <a href="mailto:git@krun.dev">Jiankun-Zhang</a>
+ * @since 2026/10/17
+ */
+@FunctionalInterface
+public interface ArgumentExtractor {
+
+    /**
+     * 表示提取器无法从当前消息中提取参数值, 应尝试下一个提取器.
+     */
+    Object UNRESOLVED = new Object();
+
+    /**
+     * 提取参数值.
+     *
+     * @param message 消息实例.
+     * @param state   状态实例.
+     * @return 参数值, 无法提取时返回 {@link #UNRESOLVED}.
+     */
+    @Nullable
+    Object extract(@NotNull Message message, @NotNull Map<String, Object> state);
+
+}
@@ -51,4 +51,17 @@ public interface ArgumentResolver extends Service {
     @NotNull
     Option<Object> resolve(@NotNull Message message, @NotNull Map<String, Object> state, @NotNull Parameter parameter);
 
+    /**
+     * 为给定参数预先生成提取器, 在首次解析该参数时调用一次, 其结果将被缓存.<br/>
+     * 默认实现在每次提取时回退到 {@link #resolve(Message, Map, Parameter)}, 实现类应尽量在此处完成参数声明的检查.
+     *
+     * @param parameter 参数实例.
+     * @return 此解析器适用于该参数时返回 {@link Option#some(Object)}, 否则返回 {@link Option#none()}.
+     * @throws IllegalArgumentException 参数声明不合法时抛出.
+     */
+    @NotNull
+    default Option<ArgumentExtractor> prepare(@NotNull Parameter parameter) {
+        return Option.some((message, state) -> resolve(message, state, parameter).getOrElse(ArgumentExtractor.UNRESOLVED));
+    }
+
 }
@@ -25,6 +25,7 @@
 package cloud.pyrgus.framework.impl.core.argument_resolver.message.header;
 
 import cloud.pyrgus.framework.core.message.Message;
+import cloud.pyrgus.framework.impl.core.argument_resolver.ArgumentExtractor;
 import cloud.pyrgus.framework.impl.core.argument_resolver.ArgumentResolver;
 import io.vavr.control.Option;
 import org.jetbrains.annotations.NotNull;
@@ -48,6 +49,18 @@ public class MessageHeaderArgumentResolver implements ArgumentResolver {
      */
     @Override
     public @NotNull Option<Object> resolve(@NotNull Message message, @NotNull Map<String, Object> state, @NotNull Parameter parameter) {
+        return prepare(parameter).map(extractor -> extractor.extract(message, state));
+    }
+
+    /**
+     * 为给定参数预先生成提取器, 在首次解析该参数时调用一次, 其结果将被缓存.
+     *
+     * @param parameter 参数实例.
+     * @return 此解析器适用于该参数时返回 {@link Option#some(Object)}, 否则返回 {@link Option#none()}.
+     * @throws IllegalArgumentException 参数声明不合法时抛出.
+     */
+    @Override
+    public @NotNull Option<ArgumentExtractor> prepare(@NotNull Parameter parameter) {
         MessageHeader messageHeader = parameter.getAnnotation(MessageHeader.class);
         if (messageHeader == null) {
             return Option.none();
@@ -55,12 +68,12 @@ public class MessageHeaderArgumentResolver implements ArgumentResolver {
         String name = messageHeader.name();
         if (name.isEmpty()) {
             if (Map.class.isAssignableFrom(parameter.getType())) {
-                return Option.of(message.getHeaders());
+                return Option.some((message, state) -> message.getHeaders());
             }
             throw new IllegalArgumentException("使用 @MessageHeader(name = \"\") 时应该使用 Map<String, Object> 配合.");
         }
         if (String.class.equals(parameter.getType())) {
-            return Option.some(message.getHeaders().get(name));
+            return Option.some((message, state) -> message.getHeaders().get(name));
         }
         throw new IllegalArgumentException("使用 @MessageHeader(name = \"" + name + "\") 时应该使用 String 配合.");
     }
@@ -25,6 +25,7 @@
 package cloud.pyrgus.framework.impl.core.argument_resolver.message.payload;
 
 import cloud.pyrgus.framework.core.message.Message;
+import cloud.pyrgus.framework.impl.core.argument_resolver.ArgumentExtractor;
 import cloud.pyrgus.framework.impl.core.argument_resolver.ArgumentResolver;
 import io.vavr.control.Option;
 import org.jetbrains.annotations.NotNull;
@@ -50,10 +51,25 @@ public class MessagePayloadArgumentResolver implements ArgumentResolver {
      */
     @Override
     public @NotNull Option<Object> resolve(@NotNull Message message, @NotNull Map<String, Object> state, @NotNull Parameter parameter) {
-        if (parameter.getType().equals(message.getPayload().getClass())) {
-            return Option.some(message.getPayload());
-        }
-        return Option.none();
+        return prepare(parameter)
+                .map(extractor -> extractor.extract(message, state))
+                .filter(value -> value != ArgumentExtractor.UNRESOLVED);
+    }
+
+    /**
+     * 为给定参数预先生成提取器, 在首次解析该参数时调用一次, 其结果将被缓存.<br/>
+     * 载荷类型只有在消费时才能确定, 因此提取器会在载荷类型与参数类型不一致时返回 {@link ArgumentExtractor#UNRESOLVED}.
+     *
+     * @param parameter 参数实例.
+     * @return 总是返回 {@link Option#some(Object)}.
+     */
+    @Override
+    public @NotNull Option<ArgumentExtractor> prepare(@NotNull Parameter parameter) {
+        Class<?> type = parameter.getType();
+        return Option.some((message, state) -> {
+            Object payload = message.getPayload();
+            return type.equals(payload.getClass()) ? payload : ArgumentExtractor.UNRESOLVED;
+        });
     }
 
 }
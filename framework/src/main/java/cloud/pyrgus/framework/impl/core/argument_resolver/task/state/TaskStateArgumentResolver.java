@@ -25,6 +25,7 @@
 package cloud.pyrgus.framework.impl.core.argument_resolver.task.state;
 
 import cloud.pyrgus.framework.core.message.Message;
+import cloud.pyrgus.framework.impl.core.argument_resolver.ArgumentExtractor;
 import cloud.pyrgus.framework.impl.core.argument_resolver.ArgumentResolver;
 import io.vavr.control.Option;
 import org.jetbrains.annotations.NotNull;
@@ -48,6 +49,18 @@ public class TaskStateArgumentResolver implements ArgumentResolver {
      */
     @Override
     public @NotNull Option<Object> resolve(@NotNull Message message, @NotNull Map<String, Object> state, @NotNull Parameter parameter) {
+        return prepare(parameter).map(extractor -> extractor.extract(message, state));
+    }
+
+    /**
+     * 为给定参数预先生成提取器, 在首次解析该参数时调用一次, 其结果将被缓存.
+     *
+     * @param parameter 参数实例.
+     * @return 此解析器适用于该参数时返回 {@link Option#some(Object)}, 否则返回 {@link Option#none()}.
+     * @throws IllegalArgumentException 参数声明不合法时抛出.
+     */
+    @Override
+    public @NotNull Option<ArgumentExtractor> prepare(@NotNull Parameter parameter) {
         TaskState taskState = parameter.getAnnotation(TaskState.class);
         if (taskState == null) {
             return Option.none();
@@ -55,12 +68,12 @@ public class TaskStateArgumentResolver implements ArgumentResolver {
         String name = taskState.name();
         if (name.isEmpty()) {
             if (Map.class.isAssignableFrom(parameter.getType())) {
-                return Option.of(state);
+                return Option.some((message, state) -> state);
             }
             throw new IllegalArgumentException("使用 @TaskState(name = \"\") 时应该使用 Map<String, Object> 配合.");
         }
         if (String.class.equals(parameter.getType())) {
-            return Option.some(state.get(name));
+            return Option.some((message, state) -> state.get(name));
         }
         throw new IllegalArgumentException("使用 @TaskState(name = \"" + name + "\") 时应该使用 String 配合.");
     }
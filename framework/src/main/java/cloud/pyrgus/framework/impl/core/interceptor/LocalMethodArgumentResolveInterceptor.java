@@ -33,16 +33,21 @@ import cloud.pyrgus.framework.core.service.ServiceRegistry;
 import cloud.pyrgus.framework.core.task.Task;
 import cloud.pyrgus.framework.core.task.TaskInterceptor;
 import cloud.pyrgus.framework.core.task.TaskInterceptorChain;
+import cloud.pyrgus.framework.impl.core.argument_resolver.ArgumentExtractor;
 import cloud.pyrgus.framework.impl.core.argument_resolver.ArgumentResolver;
-import io.vavr.control.Option;
 import org.jetbrains.annotations.NotNull;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * 本地方法参数解析拦截器, 负责解析消息消费者上的参数列表.
+ * 本地方法参数解析拦截器, 负责解析消息消费者上的参数列表.<br/>
+ * 只适用于 {@link LocalMethodMessageConsumer}, 执行器不会为其它消费者执行此拦截器; 未遵循 {@link #appliesTo(Class)} 的拦截器链中遇到其它消费者时直接继续执行链.<br/>
+ * 每个方法的参数解析方案只在首次使用时生成一次, 此后每条消息只需依次执行预先绑定的 {@link ArgumentExtractor}.
  *
  * @author <a href="mailto:git@krun.dev">Jiankun-Zhang</a>
  * @since 2022/4/14
@@ -51,8 +56,17 @@ public class LocalMethodArgumentResolveInterceptor implements TaskInterceptor, C
 
     public static final String CTX_KEY_ARGS = "pyrgus.consumer.local.action.arguments";
 
+    public static final String CTX_KEY_METHOD = "pyrgus.consumer.local.action.method";
+
+    private final Map<Method, ArgumentExtractor[]> plans = new ConcurrentHashMap<>();
+
     private List<ArgumentResolver> resolvers = null;
 
+    @Override
+    public boolean appliesTo(@NotNull Class<? extends MessageConsumer> consumerType) {
+        return LocalMethodMessageConsumer.class.isAssignableFrom(consumerType);
+    }
+
     @Override
     public void intercept(Task task, TaskInterceptorChain chain) {
         MessageConsumer messageConsumer = task.getConsumer();
@@ -63,24 +77,63 @@ public class LocalMethodArgumentResolveInterceptor implements TaskInterceptor, C
         LocalMethodMessageConsumer localMethodMessageConsumer = (LocalMethodMessageConsumer) messageConsumer;
         Message message = task.getMessage();
         Method method = localMethodMessageConsumer.matchMethod(message);
-        Object[] arguments = new Object[method.getParameterCount()];
+        ArgumentExtractor[] plan = plans.get(method);
+        if (plan == null) {
+            plan = plans.computeIfAbsent(method, this::plan);
+        }
+        Map<String, Object> state = task.getState();
+        Object[] arguments = new Object[plan.length];
+        try {
+            for (int i = 0; i < plan.length; i++) {
+                arguments[i] = plan[i].extract(message, state);
+            }
+        } catch (IllegalArgumentException e) {
+            task.getFuture().completeExceptionally(e);
+            return;
+        }
+        Map<String, Object> context = task.getContext();
+        context.put(CTX_KEY_METHOD, method);
+        context.put(CTX_KEY_ARGS, arguments);
+        chain.next();
+    }
+
+    private ArgumentExtractor[] plan(Method method) {
         Parameter[] parameters = method.getParameters();
-        for (int i = 0, parametersLength = parameters.length; i < parametersLength; i++) {
-            Parameter parameter = parameters[i];
+        ArgumentExtractor[] plan = new ArgumentExtractor[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            plan[i] = plan(parameters[i]);
+        }
+        return plan;
+    }
+
+    /**
+     * 按解析器顺序收集适用于此参数的提取器, 提取时依次尝试直到成功.
+     * 若某个解析器认为参数声明不合法, 则其后的解析器不再参与, 与逐个解析时的行为保持一致.
+     */
+    private ArgumentExtractor plan(Parameter parameter) {
+        List<ArgumentExtractor> candidates = new ArrayList<>(resolvers.size());
+        for (ArgumentResolver resolver : resolvers) {
             try {
-                arguments[i] = resolvers.stream()
-                        .map(argumentResolver -> argumentResolver.resolve(message, task.getState(), parameter))
-                        .filter(Option::isDefined)
-                        .findFirst()
-                        .orElseGet(Option::none)
-                        .getOrElseThrow(() -> new IllegalArgumentException(String.format("不受支持的参数类型: [ %s ]", parameter.getType().getName())));
+                resolver.prepare(parameter).forEach(candidates::add);
             } catch (IllegalArgumentException e) {
-                task.getFuture().completeExceptionally(e);
-                return;
+                String reason = e.getMessage();
+                candidates.add((message, state) -> {
+                    throw new IllegalArgumentException(reason);
+                });
+                break;
             }
         }
-        task.getContext().put(CTX_KEY_ARGS, arguments);
-        chain.next();
+        ArgumentExtractor[] extractors = candidates.toArray(new ArgumentExtractor[0]);
+        String unsupported = String.format("不受支持的参数类型: [ %s ]", parameter.getType().getName());
+        return (message, state) -> {
+            for (ArgumentExtractor extractor : extractors) {
+                Object value = extractor.extract(message, state);
+                if (value != ArgumentExtractor.UNRESOLVED) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException(unsupported);
+        };
     }
 
     /**
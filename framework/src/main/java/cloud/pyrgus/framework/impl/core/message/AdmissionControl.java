@@ -0,0 +1,118 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Zhang Jiankun
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package cloud.pyrgus.framework.impl.core.message;
+
+import cloud.pyrgus.framework.core.message.Message;
+import cloud.pyrgus.framework.core.message.MessageConsumer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 限制全局与每个消费者的在途消息数量, 不大于 0 的上限表示不作限制.<br/>
+ * 消费者以消息的 {@code name} 标头区分, 没有该标头时以消费者的类型区分,
+ * 因此每次调用都创建新实例的消费者 (例如 lambda) 也只会占用有限的配额表项.
+ *
+ * @author <a href="mailto:git@krun.dev">Jiankun-Zhang</a>
+ * @since 2026/10/17
+ */
+class AdmissionControl {
+
+    private final Semaphore global;
+
+    private final int consumerLimit;
+
+    private final Map<Object, Semaphore> consumerPermits = new ConcurrentHashMap<>();
+
+    private final AdmissionPolicy policy;
+
+    private final long timeoutNanos;
+
+    AdmissionControl(int globalLimit, int consumerLimit, @NotNull AdmissionPolicy policy, long timeoutMillis) {
+        this.global = globalLimit > 0 ? new Semaphore(globalLimit) : null;
+        this.consumerLimit = consumerLimit;
+        this.policy = policy;
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+    }
+
+    @NotNull
+    AdmissionPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * 为消费者获取一个配额, {@link AdmissionPolicy#Block} 策略下最多等待配置的超时时间.
+     *
+     * @return 获取成功时返回 {@code true}, 此时调用方必须在消息处理结束后调用 {@link #release(Message, MessageConsumer)}.
+     */
+    boolean acquire(@NotNull Message message, @NotNull MessageConsumer consumer) {
+        Semaphore local = consumerLimit > 0 ? consumerPermits.computeIfAbsent(keyOf(message, consumer), k -> new Semaphore(consumerLimit)) : null;
+        long deadline = System.nanoTime() + timeoutNanos;
+        if (!acquire(local, deadline)) {
+            return false;
+        }
+        if (!acquire(global, deadline)) {
+            if (local != null) {
+                local.release();
+            }
+            return false;
+        }
+        return true;
+    }
+
+    void release(@NotNull Message message, @NotNull MessageConsumer consumer) {
+        if (global != null) {
+            global.release();
+        }
+        Semaphore local = consumerLimit > 0 ? consumerPermits.get(keyOf(message, consumer)) : null;
+        if (local != null) {
+            local.release();
+        }
+    }
+
+    private static Object keyOf(Message message, MessageConsumer consumer) {
+        Object name = message.getHeaders().get("name");
+        return name instanceof String && !((String) name).isEmpty() ? name : consumer.getClass();
+    }
+
+    private boolean acquire(@Nullable Semaphore semaphore, long deadline) {
+        if (semaphore == null) {
+            return true;
+        }
+        if (policy != AdmissionPolicy.Block) {
+            return semaphore.tryAcquire();
+        }
+        try {
+            return semaphore.tryAcquire(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Zhang Jiankun
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package cloud.pyrgus.framework.impl.core.message;
+
+import cloud.pyrgus.framework.core.message.Message;
+import cloud.pyrgus.framework.core.message.MessageFilter;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 某个消费者的过滤器流水线, 只包括适用于该消费者的过滤器.<br/>
+ * 启用自适应排序时, 每 {@value #SAMPLE_INTERVAL} 条消息采样一次各过滤器的耗时与拒绝次数,
+ * 每 {@value #REORDER_INTERVAL} 次采样后按 "平均每次拒绝的耗时" 从低到高重新排列过滤器, 使代价低且容易拒绝消息的过滤器优先执行.
+ * 重新排列只改变过滤器的执行顺序, 因此要求过滤器之间互不依赖且没有副作用.
+ *
+ * @author <a href="mailto:git@krun.dev">Jiankun-Zhang</a>
+ * @since 2026/10/17
+ */
+final class FilterPipeline {
+
+    static final FilterPipeline EMPTY = new FilterPipeline(new Stage[0], false);
+
+    static final int SAMPLE_INTERVAL = 1024;
+
+    static final int REORDER_INTERVAL = 32;
+
+    private final boolean adaptive;
+
+    private volatile Stage[] order;
+
+    /**
+     * 仅用于决定是否采样, 允许并发更新时丢失计数.
+     */
+    private int messages = 0;
+
+    private int samples = 0;
+
+    private FilterPipeline(Stage[] stages, boolean adaptive) {
+        this.adaptive = adaptive && stages.length > 1;
+        this.order = stages;
+    }
+
+    /**
+     * 为消费者生成过滤器流水线.
+     *
+     * @param consumerName 消费者名称.
+     * @param filters      所有过滤器, 为 {@code null} 时视为没有过滤器.
+     * @param adaptive     是否按采样统计自适应地调整过滤器顺序.
+     * @return 过滤器流水线.
+     */
+    static FilterPipeline of(@NotNull String consumerName, List<MessageFilter> filters, boolean adaptive) {
+        if (filters == null || filters.isEmpty()) {
+            return EMPTY;
+        }
+        List<Stage> stages = new ArrayList<>(filters.size());
+        for (MessageFilter filter : filters) {
+            if (filter.appliesTo(consumerName)) {
+                stages.add(new Stage(filter));
+            }
+        }
+        return stages.isEmpty() ? EMPTY : new FilterPipeline(stages.toArray(new Stage[0]), adaptive);
+    }
+
+    /**
+     * 依次执行过滤器, 遇到第一个拒绝消息的过滤器时停止.
+     *
+     * @param message 消息实例.
+     * @return 所有过滤器都通过时返回 {@code true}.
+     */
+    boolean test(@NotNull Message message) {
+        Stage[] order = this.order;
+        if (adaptive && ++messages % SAMPLE_INTERVAL == 0) {
+            return sample(order, message);
+        }
+        for (Stage stage : order) {
+            if (!stage.filter.test(message)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean sample(Stage[] order, Message message) {
+        boolean passed = true;
+        for (Stage stage : order) {
+            long start = System.nanoTime();
+            boolean accepted = stage.filter.test(message);
+            stage.record(System.nanoTime() - start, accepted);
+            if (!accepted) {
+                passed = false;
+                break;
+            }
+        }
+        if (++samples % REORDER_INTERVAL == 0) {
+            reorder();
+        }
+        return passed;
+    }
+
+    /**
+     * 统计在排序期间仍会被并发更新, 因此先取分数快照再排序, 保证比较结果前后一致.
+     */
+    private synchronized void reorder() {
+        Stage[] current = order;
+        double[] scores = new double[current.length];
+        Integer[] indexes = new Integer[current.length];
+        for (int i = 0; i < current.length; i++) {
+            scores[i] = current[i].score();
+            indexes[i] = i;
+        }
+        Arrays.sort(indexes, Comparator.comparingDouble(i -> scores[i]));
+        Stage[] next = new Stage[current.length];
+        for (int i = 0; i < next.length; i++) {
+            next[i] = current[indexes[i]];
+        }
+        order = next;
+    }
+
+    /**
+     * @return 按当前执行顺序排列的各过滤器统计.
+     */
+    List<FilterStatistics> statistics() {
+        Stage[] order = this.order;
+        List<FilterStatistics> statistics = new ArrayList<>(order.length);
+        for (Stage stage : order) {
+            statistics.add(new FilterStatistics(String.valueOf(stage.filter), stage.evaluations.sum(), stage.rejections.sum(), stage.nanos.sum()));
+        }
+        return statistics;
+    }
+
+    private static final class Stage {
+
+        private final MessageFilter filter;
+
+        private final LongAdder evaluations = new LongAdder();
+
+        private final LongAdder rejections = new LongAdder();
+
+        private final LongAdder nanos = new LongAdder();
+
+        private Stage(MessageFilter filter) {
+            this.filter = filter;
+        }
+
+        private void record(long elapsed, boolean accepted) {
+            evaluations.increment();
+            nanos.add(elapsed);
+            if (!accepted) {
+                rejections.increment();
+            }
+        }
+
+        /**
+         * 平均每次拒绝的耗时, 从未拒绝过的过滤器排在最后. 排序是稳定的, 分数相同的过滤器保持原有顺序.
+         */
+        private double score() {
+            long rejected = rejections.sum();
+            return rejected == 0 ? Double.POSITIVE_INFINITY : (double) nanos.sum() / rejected;
+        }
+    }
+
+}
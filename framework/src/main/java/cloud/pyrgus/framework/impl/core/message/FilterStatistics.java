@@ -0,0 +1,65 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Zhang Jiankun
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package cloud.pyrgus.framework.impl.core.message;
+
+import lombok.Value;
+
+/**
+ * 单个过滤器在某个消费者上的采样统计快照, 各项数据分别读取, 因此彼此之间不保证严格一致.
+ *
+ * @author <a href="mailto:git@krun.dev">Jiankun-Zhang</a>
+ * @since 2026/10/17
+ */
+@Value
+public class FilterStatistics {
+
+    /**
+     * 过滤器.
+     */
+    String filter;
+
+    /**
+     * 采样到的执行次数.
+     */
+    long evaluations;
+
+    /**
+     * 采样到的拒绝次数.
+     */
+    long rejections;
+
+    /**
+     * 采样到的累计耗时 (纳秒).
+     */
+    long totalNanos;
+
+    /**
+     * @return 采样中被拒绝的消息比例, 尚未采样时为 {@code 0}.
+     */
+    public double getSelectivity() {
+        return evaluations == 0 ? 0 : (double) rejections / evaluations;
+    }
+
+}
@@ -0,0 +1,264 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Zhang Jiankun
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package cloud.pyrgus.framework.impl.core.message;
+
+import cloud.pyrgus.framework.core.message.Message;
+import cloud.pyrgus.framework.core.message.MessagingGateway;
+import cloud.pyrgus.framework.core.task.Mode;
+import org.jetbrains.annotations.NotNull;
+import org.reactivestreams.Processor;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.Queue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 将 {@link MessagingGateway} 适配为 Reactive Streams {@link Processor}: 作为 {@link Subscriber} 接收上游的消息并经由网关发送,
+ * 作为 {@link org.reactivestreams.Publisher} 按完成顺序向下游发布各消息的处理结果.<br/>
+ * 上游消息按窗口请求: 从向上游请求一条消息起, 直到其结果发布给下游为止, 该消息始终占用窗口中的一个位置.
+ * 因此消费者处理缓慢 (任务未完成) 或下游请求不足 (结果未发布) 时都不会继续向上游请求, 在途与已完成但未发布的消息总数不超过窗口大小.<br/>
+ * 处理结果为 {@code null} 的消息不会发布给下游 (Reactive Streams 不允许 {@code null} 元素), 但同样会释放其占用的窗口位置;
+ * 任意消息处理失败时取消上游并以该异常结束下游.<br/>
+ * 只支持一个下游订阅者. 运行于 Java 9 及以上版本时可以通过 {@link org.reactivestreams.FlowAdapters#toFlowProcessor(Processor)}
+ * 转换为 {@code java.util.concurrent.Flow.Processor}.
+ *
+ * @param <R> 处理结果类型.
+ * @author <a href="mailto:git@krun.dev">Jiankun-Zhang</a>
+ * @since 2026/10/17
+ */
+public final class MessagingProcessor<R> implements Processor<Message, R> {
+
+    private final MessagingGateway gateway;
+
+    private final Mode mode;
+
+    private final int window;
+
+    private final Queue<R> results = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 已向上游请求但尚未收到的消息数量.
+     */
+    private final AtomicInteger pending = new AtomicInteger();
+
+    /**
+     * 已收到但结果尚未发布的消息数量, 与 {@link #pending} 之和不超过 {@link #window}.
+     */
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicLong requested = new AtomicLong();
+
+    /**
+     * 保证 {@link #drain()} 同一时刻只在一个线程中执行, 其它线程的调用会使其再循环一次.
+     */
+    private final AtomicInteger wip = new AtomicInteger();
+
+    private volatile Subscription upstream = null;
+
+    private volatile Subscriber<? super R> downstream = null;
+
+    private boolean subscribed = false;
+
+    private volatile boolean upstreamDone = false;
+
+    private volatile Throwable error = null;
+
+    private volatile boolean cancelled = false;
+
+    private boolean terminated = false;
+
+    /**
+     * @param gateway 用于发送消息的网关.
+     * @param mode    消息的执行模式.
+     * @param window  在途消息数量上限.
+     */
+    public MessagingProcessor(@NotNull MessagingGateway gateway, @NotNull Mode mode, int window) {
+        if (window <= 0) {
+            throw new IllegalArgumentException(String.format("窗口大小必须为正数: [ %s ]", window));
+        }
+        this.gateway = gateway;
+        this.mode = mode;
+        this.window = window;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        if (upstream != null || cancelled) {
+            subscription.cancel();
+            return;
+        }
+        upstream = subscription;
+        drain();
+    }
+
+    @Override
+    public void onNext(Message message) {
+        inFlight.incrementAndGet();
+        pending.decrementAndGet();
+        if (cancelled || error != null) {
+            return;
+        }
+        gateway.<R>apply(message.getPayload(), message.getHeaders(), mode).whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                fail(throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable);
+                return;
+            }
+            if (result == null) {
+                inFlight.decrementAndGet();
+            } else {
+                results.offer(result);
+            }
+            drain();
+        });
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        fail(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        upstreamDone = true;
+        drain();
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super R> subscriber) {
+        boolean first;
+        synchronized (this) {
+            first = !subscribed;
+            subscribed = true;
+        }
+        if (first) {
+            subscriber.onSubscribe(new Downstream());
+            downstream = subscriber;
+            drain();
+            return;
+        }
+        subscriber.onSubscribe(new Subscription() {
+            @Override
+            public void request(long n) {
+            }
+
+            @Override
+            public void cancel() {
+            }
+        });
+        subscriber.onError(new IllegalStateException("MessagingProcessor 只支持一个订阅者."));
+    }
+
+    private void fail(Throwable throwable) {
+        if (error == null) {
+            error = throwable;
+        }
+        drain();
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            Subscriber<? super R> subscriber = downstream;
+            if (subscriber != null && !terminated) {
+                emit(subscriber);
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void emit(Subscriber<? super R> subscriber) {
+        if (cancelled) {
+            terminated = true;
+            results.clear();
+            return;
+        }
+        if (error != null) {
+            terminated = true;
+            results.clear();
+            Subscription subscription = upstream;
+            if (subscription != null) {
+                subscription.cancel();
+            }
+            subscriber.onError(error);
+            return;
+        }
+        long demand = requested.get();
+        long emitted = 0;
+        R result;
+        while (emitted < demand && (result = results.poll()) != null) {
+            subscriber.onNext(result);
+            inFlight.decrementAndGet();
+            emitted++;
+        }
+        if (emitted > 0) {
+            requested.addAndGet(-emitted);
+        }
+        if (upstreamDone && inFlight.get() == 0 && results.isEmpty()) {
+            terminated = true;
+            subscriber.onComplete();
+            return;
+        }
+        Subscription subscription = upstream;
+        int credit = window - pending.get() - inFlight.get();
+        if (subscription != null && !upstreamDone && credit > 0) {
+            pending.addAndGet(credit);
+            subscription.request(credit);
+        }
+    }
+
+    /**
+     * 下游的订阅.
+     */
+    private final class Downstream implements Subscription {
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                fail(new IllegalArgumentException(String.format("请求数量必须为正数: [ %s ]", n)));
+                return;
+            }
+            requested.accumulateAndGet(n, (current, add) -> current + add < 0 ? Long.MAX_VALUE : current + add);
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            Subscription subscription = upstream;
+            if (subscription != null) {
+                subscription.cancel();
+            }
+            drain();
+        }
+    }
+
+}
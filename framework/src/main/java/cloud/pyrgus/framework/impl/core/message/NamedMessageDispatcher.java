@@ -28,30 +28,53 @@ import cloud.pyrgus.framework.core.message.Message;
 import cloud.pyrgus.framework.core.message.MessageConsumer;
 import cloud.pyrgus.framework.core.message.MessageDispatcher;
 import cloud.pyrgus.framework.core.message.MessageFilter;
+import cloud.pyrgus.framework.core.message.consumer.LocalMethodMessageConsumer;
+import cloud.pyrgus.framework.core.message.consumer.MessageHandler;
 import cloud.pyrgus.framework.core.service.Configurable;
 import cloud.pyrgus.framework.core.service.PropertyProvider;
+import cloud.pyrgus.framework.core.service.Service;
 import cloud.pyrgus.framework.core.service.ServiceRegistry;
+import io.vavr.control.Option;
 import lombok.SneakyThrows;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 /**
  * 此消息调度实现不会加载注册到 {@link ServiceRegistry} 的 {@link MessageConsumer}, 而是要求手动注册消费者时提供一个名称以进行绑定.<br/>
- * 调度消息时将依据消息标头的 {@code name} 值寻找相应的消费者进行消费.
+ * 调度消息时将依据消息标头的 {@code name} 值寻找相应的消费者进行消费.<br/>
+ * 消费者表是不可变的, 注册消费者时复制并替换整张表, 因此调度消息时无需加锁即可读取到完整注册的消费者.<br/>
+ * 配置时会为所有服务上标记了 {@link MessageHandler} 的方法生成消费者并自动注册, 可以通过属性 {@value #PROP_DISCOVER_HANDLERS} 关闭.<br/>
+ * 注册消费者时会为其生成只包括适用过滤器 ({@link MessageFilter#appliesTo(String)}) 的 {@link FilterPipeline},
+ * 默认按采样统计自适应地调整过滤器顺序, 可以通过属性 {@value #PROP_ADAPTIVE_FILTERS} 关闭.
  *
  * @author <a href="mailto:git@krun.dev">Jiankun-Zhang</a>
  * @since 2022/4/14
  */
 public class NamedMessageDispatcher implements MessageDispatcher, Configurable {
 
-    private final Map<String, MessageConsumer> consumerMap = new HashMap<>();
+    public static final String PROP_DISCOVER_HANDLERS = "pyrgus.dispatcher.handlers.discover";
+
+    public static final String PROP_ADAPTIVE_FILTERS = "pyrgus.dispatcher.filters.adaptive";
+
+    /**
+     * 只读的消费者表, 仅在持有 {@code this} 的锁时替换. 名称经过 {@link String#intern()},
+     * 使用字面量作为 {@code name} 标头的消息在查找时可以直接通过引用比较命中.
+     */
+    private volatile Map<String, Route> consumerMap = Collections.emptyMap();
 
     private List<MessageFilter> filters = null;
 
+    private boolean adaptiveFilters = true;
+
+    private boolean handlersDiscovered = false;
+
     /**
      * 注册消息消费者, 当存在同名消费者时将覆盖旧值.
      *
@@ -60,10 +83,46 @@ public class NamedMessageDispatcher implements MessageDispatcher, Configurable {
      * @return {@link NamedMessageDispatcher} 实例.
      */
     public NamedMessageDispatcher addConsumer(String name, MessageConsumer consumer) {
-        consumerMap.put(name, consumer);
+        return addConsumers(Collections.singletonMap(name, consumer));
+    }
+
+    /**
+     * 批量注册消息消费者, 当存在同名消费者时将覆盖旧值. 消费者表只会被复制一次.
+     *
+     * @param consumers 以消费者名称为键的消费者实例
+     * @return {@link NamedMessageDispatcher} 实例.
+     */
+    public synchronized NamedMessageDispatcher addConsumers(Map<String, MessageConsumer> consumers) {
+        Map<String, Route> table = new HashMap<>(consumerMap);
+        consumers.forEach((name, consumer) -> table.put(name.intern(), route(name, consumer)));
+        consumerMap = Collections.unmodifiableMap(table);
         return this;
     }
 
+    /**
+     * 获取指定消费者的过滤器采样统计.
+     *
+     * @param name 消费者名称
+     * @return 按当前执行顺序排列的各过滤器统计, 消费者不存在时返回空列表.
+     */
+    public @NotNull List<FilterStatistics> getFilterStatistics(@NotNull String name) {
+        Route route = consumerMap.get(name);
+        return route == null ? Collections.emptyList() : route.filters.statistics();
+    }
+
+    private Route route(String name, MessageConsumer consumer) {
+        return new Route(consumer, FilterPipeline.of(name, filters, adaptiveFilters));
+    }
+
+    /**
+     * 过滤器发生变化后为所有已注册的消费者重新生成过滤器流水线.
+     */
+    private synchronized void rebuildRoutes() {
+        Map<String, Route> table = new HashMap<>(consumerMap.size());
+        consumerMap.forEach((name, route) -> table.put(name, route(name, route.consumer)));
+        consumerMap = Collections.unmodifiableMap(table);
+    }
+
     /**
      * 调度消息.
      *
@@ -73,23 +132,53 @@ public class NamedMessageDispatcher implements MessageDispatcher, Configurable {
      */
     @Override
     public MessageConsumer dispatch(@NotNull Message message, @NotNull CompletableFuture<Object> future) {
-        String name = (String) message.getHeaders().getOrDefault("name", "");
+        String name = nameOf(message);
+        return dispatch(message, future, name, consumerMap.get(name));
+    }
+
+    /**
+     * 批量调度消息, 连续的同名消息只查找一次消费者.
+     *
+     * @param messages 需要调度的消息.
+     * @param futures  与消息一一对应, 调度失败时会使用 {@link CompletableFuture#completeExceptionally(Throwable)} 结束调度.
+     * @return 与消息一一对应的消费者, 调度失败的消息对应 {@code null}.
+     */
+    @Override
+    public @NotNull List<MessageConsumer> dispatchAll(@NotNull List<Message> messages, @NotNull List<CompletableFuture<Object>> futures) {
+        Map<String, Route> table = consumerMap;
+        List<MessageConsumer> consumers = new ArrayList<>(messages.size());
+        String lastName = null;
+        Route lastRoute = null;
+        for (int i = 0; i < messages.size(); i++) {
+            Message message = messages.get(i);
+            String name = nameOf(message);
+            if (!name.equals(lastName)) {
+                lastName = name;
+                lastRoute = table.get(name);
+            }
+            consumers.add(dispatch(message, futures.get(i), name, lastRoute));
+        }
+        return consumers;
+    }
+
+    private static String nameOf(Message message) {
+        return (String) message.getHeaders().getOrDefault("name", "");
+    }
+
+    private MessageConsumer dispatch(Message message, CompletableFuture<Object> future, String name, Route route) {
         if (name.isEmpty()) {
             future.completeExceptionally(new IllegalArgumentException(String.format("非法消息: ( %s ).", message)));
             return null;
         }
-        MessageConsumer consumer = consumerMap.get(name);
-        if (consumer == null) {
+        if (route == null) {
             future.completeExceptionally(new IllegalArgumentException(String.format("指定的消息消费者不存在: ( %s ).", name)));
             return null;
         }
-        for (MessageFilter filter : filters) {
-            if (!filter.test(message)) {
-                future.completeExceptionally(new IllegalArgumentException("消息已被过滤."));
-                return null;
-            }
+        if (!route.filters.test(message)) {
+            future.completeExceptionally(new IllegalArgumentException("消息已被过滤."));
+            return null;
         }
-        return consumer;
+        return route.consumer;
     }
 
     /**
@@ -103,7 +192,57 @@ public class NamedMessageDispatcher implements MessageDispatcher, Configurable {
     @Override
     public void configure(@NotNull ServiceRegistry serviceRegistry, @NotNull PropertyProvider propertyProvider) {
         if (filters == null) {
+            adaptiveFilters = Boolean.parseBoolean(Option.of(propertyProvider.getProperty(PROP_ADAPTIVE_FILTERS)).getOrElse("true"));
             filters = serviceRegistry.loadServices(MessageFilter.class);
+            rebuildRoutes();
+        }
+        if (!handlersDiscovered) {
+            if (Boolean.parseBoolean(Option.of(propertyProvider.getProperty(PROP_DISCOVER_HANDLERS)).getOrElse("true"))) {
+                addConsumers(discoverHandlers(serviceRegistry));
+            }
+            handlersDiscovered = true;
+        }
+    }
+
+    /**
+     * 先按实现类检查是否声明了消息处理方法, 只加载声明了处理方法的服务, 以免在 {@link cloud.pyrgus.framework.impl.core.service.ServiceBootstrap#Lazy}
+     * 模式下创建所有服务实例.
+     */
+    private static Map<String, MessageConsumer> discoverHandlers(ServiceRegistry serviceRegistry) {
+        Map<String, MessageConsumer> handlers = new LinkedHashMap<>();
+        for (Class<? extends Service> type : serviceRegistry.getServiceClasses(Service.class)) {
+            if (!LocalMethodMessageConsumer.declaresHandlers(type)) {
+                continue;
+            }
+            Service service = serviceRegistry.loadServices(type).stream()
+                    .filter(candidate -> candidate.getClass() == type)
+                    .findFirst()
+                    .orElse(null);
+            if (service == null) {
+                continue;
+            }
+            LocalMethodMessageConsumer.handlersOf(service).forEach((name, consumer) -> {
+                MessageConsumer previous = handlers.putIfAbsent(name, consumer);
+                if (previous != null) {
+                    throw new IllegalStateException(String.format("消息处理方法名称重复: [ %s ] %s, %s", name, previous, consumer));
+                }
+            });
+        }
+        return handlers;
+    }
+
+    /**
+     * 消费者及其过滤器流水线.
+     */
+    private static final class Route {
+
+        private final MessageConsumer consumer;
+
+        private final FilterPipeline filters;
+
+        private Route(MessageConsumer consumer, FilterPipeline filters) {
+            this.consumer = consumer;
+            this.filters = filters;
         }
     }
 }
@@ -24,6 +24,7 @@
 
 package cloud.pyrgus.framework.impl.core.message;
 
+import cloud.pyrgus.framework.core.message.BatchResult;
 import cloud.pyrgus.framework.core.message.Message;
 import cloud.pyrgus.framework.core.message.MessageConsumer;
 import cloud.pyrgus.framework.core.message.MessageDispatcher;
@@ -32,39 +33,56 @@ import cloud.pyrgus.framework.core.service.Configurable;
 import cloud.pyrgus.framework.core.service.PropertyProvider;
 import cloud.pyrgus.framework.core.service.ServiceRegistry;
 import cloud.pyrgus.framework.core.task.Mode;
+import cloud.pyrgus.framework.core.task.Task;
 import cloud.pyrgus.framework.core.task.TaskExecutor;
 import io.vavr.control.Option;
 import lombok.SneakyThrows;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
 
 /**
+ * 可通过 {@link PropertyProvider} 配置以下属性以限制在途消息数量, 避免消费者处理缓慢时任务无限堆积:
+ * <ul>
+ *     <li>{@value #PROP_ADMISSION_GLOBAL_LIMIT}: 全局在途消息数量上限, 默认不作限制.</li>
+ *     <li>{@value #PROP_ADMISSION_CONSUMER_LIMIT}: 每个消费者的在途消息数量上限, 默认不作限制.</li>
+ *     <li>{@value #PROP_ADMISSION_POLICY}: 达到上限时的 {@link AdmissionPolicy}, 默认为 {@link AdmissionPolicy#Reject}.</li>
+ *     <li>{@value #PROP_ADMISSION_TIMEOUT}: {@link AdmissionPolicy#Block} 策略的最长等待毫秒数, 默认为 {@value #DEFAULT_ADMISSION_TIMEOUT}.</li>
+ * </ul>
+ * 消息被拒绝时返回的 {@link CompletableFuture} 将以 {@link RejectedExecutionException} 结束.
+ *
  * @author <a href="mailto:git@krun.dev">Jiankun-Zhang</a>
  * @since 2022/4/14
  */
 public class SimpleMessagingGateway implements MessagingGateway, Configurable {
 
+    public static final String PROP_ADMISSION_GLOBAL_LIMIT = "pyrgus.gateway.admission.global.limit";
+
+    public static final String PROP_ADMISSION_CONSUMER_LIMIT = "pyrgus.gateway.admission.consumer.limit";
+
+    public static final String PROP_ADMISSION_POLICY = "pyrgus.gateway.admission.policy";
+
+    public static final String PROP_ADMISSION_TIMEOUT = "pyrgus.gateway.admission.timeout";
+
+    private static final long DEFAULT_ADMISSION_TIMEOUT = 1000;
+
     private MessageDispatcher dispatcher = null;
 
     private TaskExecutor taskExecutor = null;
 
+    private AdmissionControl admission = null;
 
-    private Message packMessage(@NotNull Object payload, @Nullable Map<String, Object> headers) {
-        return new Message() {
-            @Override
-            public @NotNull Map<String, Object> getHeaders() {
-                return Option.of(headers).getOrElse(HashMap::new);
-            }
 
-            @Override
-            public @NotNull Object getPayload() {
-                return payload;
-            }
-        };
+    private Message packMessage(@NotNull Object payload, @Nullable Map<String, Object> headers) {
+        return new SimpleMessage(headers == null ? Collections.emptyMap() : headers, payload);
     }
 
     /**
@@ -83,6 +101,27 @@ public class SimpleMessagingGateway implements MessagingGateway, Configurable {
         if (taskExecutor == null) {
             taskExecutor = serviceRegistry.loadService(TaskExecutor.class);
         }
+        if (admission == null) {
+            admission = createAdmissionControl(propertyProvider);
+        }
+    }
+
+    private static AdmissionControl createAdmissionControl(@NotNull PropertyProvider propertyProvider) {
+        int globalLimit = getProperty(propertyProvider, PROP_ADMISSION_GLOBAL_LIMIT, Integer::parseInt, 0);
+        int consumerLimit = getProperty(propertyProvider, PROP_ADMISSION_CONSUMER_LIMIT, Integer::parseInt, 0);
+        if (globalLimit <= 0 && consumerLimit <= 0) {
+            return null;
+        }
+        AdmissionPolicy policy = getProperty(propertyProvider, PROP_ADMISSION_POLICY, AdmissionPolicy::valueOf, AdmissionPolicy.Reject);
+        long timeout = getProperty(propertyProvider, PROP_ADMISSION_TIMEOUT, Long::parseLong, DEFAULT_ADMISSION_TIMEOUT);
+        return new AdmissionControl(globalLimit, consumerLimit, policy, timeout);
+    }
+
+    private static <T> T getProperty(PropertyProvider propertyProvider, String key, Function<String, T> parser, T defaultValue) {
+        return Option.of(propertyProvider.getProperty(key))
+                .map(String::trim)
+                .map(parser)
+                .getOrElse(defaultValue);
     }
 
     /**
@@ -100,9 +139,109 @@ public class SimpleMessagingGateway implements MessagingGateway, Configurable {
         Message message = packMessage(payload, headers);
         CompletableFuture<Object> future = new CompletableFuture<>();
         MessageConsumer consumer = dispatcher.dispatch(message, future);
-        if (consumer != null) {
-            taskExecutor.submit(message, consumer, null, mode);
+        if (consumer == null) {
+            return (CompletableFuture<R>) future;
+        }
+        if (admission == null) {
+            bind(taskExecutor.submit(message, consumer, null, mode), future, null);
+        } else if (admission.acquire(message, consumer)) {
+            bind(taskExecutor.submit(message, consumer, null, mode), future, () -> admission.release(message, consumer));
+        } else if (admission.getPolicy() == AdmissionPolicy.CallerRuns) {
+            bind(taskExecutor.submit(message, consumer, null, Mode.Posting), future, null);
+        } else {
+            future.completeExceptionally(new RejectedExecutionException("在途消息数量已达上限."));
         }
         return (CompletableFuture<R>) future;
     }
+
+    /**
+     * 批量发送消息, 整批消息一次性完成调度, 通过准入控制的消息以一次操作提交至执行器.
+     *
+     * @param payloads 消息载荷
+     * @param headers  消息标头
+     * @param mode     执行模式
+     * @return 与载荷一一对应的结果及其组合结果.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @Override
+    public @NotNull <R> BatchResult<R> applyAll(@NotNull Collection<?> payloads, @Nullable Map<String, Object> headers, @NotNull Mode mode) {
+        List<Message> messages = new ArrayList<>(payloads.size());
+        List<CompletableFuture<Object>> futures = new ArrayList<>(payloads.size());
+        for (Object payload : payloads) {
+            messages.add(packMessage(payload, headers));
+            futures.add(new CompletableFuture<>());
+        }
+        List<MessageConsumer> consumers = dispatcher.dispatchAll(messages, futures);
+        List<Integer> admitted = new ArrayList<>(messages.size());
+        List<Integer> callerRuns = new ArrayList<>();
+        for (int i = 0; i < messages.size(); i++) {
+            MessageConsumer consumer = consumers.get(i);
+            if (consumer == null) {
+                continue;
+            }
+            if (admission == null || admission.acquire(messages.get(i), consumer)) {
+                admitted.add(i);
+            } else if (admission.getPolicy() == AdmissionPolicy.CallerRuns) {
+                callerRuns.add(i);
+            } else {
+                futures.get(i).completeExceptionally(new RejectedExecutionException("在途消息数量已达上限."));
+            }
+        }
+        submitAll(admitted, messages, consumers, futures, mode, admission != null);
+        submitAll(callerRuns, messages, consumers, futures, Mode.Posting, false);
+        return BatchResult.of((List) futures);
+    }
+
+    private void submitAll(List<Integer> indices, List<Message> messages, List<MessageConsumer> consumers,
+                           List<CompletableFuture<Object>> futures, Mode mode, boolean release) {
+        if (indices.isEmpty()) {
+            return;
+        }
+        List<Message> batchMessages = new ArrayList<>(indices.size());
+        List<MessageConsumer> batchConsumers = new ArrayList<>(indices.size());
+        for (int index : indices) {
+            batchMessages.add(messages.get(index));
+            batchConsumers.add(consumers.get(index));
+        }
+        List<Task> tasks = taskExecutor.submitAll(batchMessages, batchConsumers, null, mode);
+        for (int i = 0; i < indices.size(); i++) {
+            Message message = batchMessages.get(i);
+            MessageConsumer consumer = batchConsumers.get(i);
+            bind(tasks.get(i), futures.get(indices.get(i)), release ? () -> admission.release(message, consumer) : null);
+        }
+    }
+
+    /**
+     * 将任务的执行结果传递至返回给调用方的 {@link CompletableFuture}, 调用方取消时同时取消任务.
+     *
+     * @param release 任务结束或被拒绝时执行, 用于归还准入配额.
+     */
+    private void bind(@Nullable Task task, @NotNull CompletableFuture<Object> future, @Nullable Runnable release) {
+        if (task == null) {
+            if (release != null) {
+                release.run();
+            }
+            future.completeExceptionally(new RejectedExecutionException("任务执行器已拒绝此消息."));
+            return;
+        }
+        CompletableFuture<Object> taskFuture = task.getFuture();
+        if (release != null) {
+            taskFuture.whenComplete((value, throwable) -> release.run());
+        }
+        if (taskFuture == future) {
+            return;
+        }
+        taskFuture.whenComplete((value, throwable) -> {
+            if (throwable == null) {
+                future.complete(value);
+            } else {
+                future.completeExceptionally(throwable);
+            }
+        });
+        future.whenComplete((value, throwable) -> {
+            if (future.isCancelled()) {
+                taskFuture.cancel(false);
+            }
+        });
+    }
 }
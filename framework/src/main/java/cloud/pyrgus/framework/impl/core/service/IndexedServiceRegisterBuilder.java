@@ -0,0 +1,166 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Zhang Jiankun
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package cloud.pyrgus.framework.impl.core.service;
+
+import cloud.pyrgus.framework.core.service.Service;
+import cloud.pyrgus.framework.core.service.ServiceRegisterBuilder;
+import cloud.pyrgus.framework.core.service.ServiceRegistry;
+import cloud.pyrgus.framework.core.service.StartupProfiler;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * 读取编译期生成的服务索引 ({@value #INDEX_LOCATION}) 并注册至 {@link SimpleServiceRegistry}, 启动时不需要扫描类路径.<br/>
+ * 索引由 {@link ServiceIndexProcessor} 在编译期生成, 每行一个实现类的二进制名称, 以 {@code #} 开头的行将被忽略.
+ * 类路径中的所有索引文件都会被读取, 因此各个模块可以分别生成自己的索引.<br/>
+ * 较新的 javac 默认不再运行从类路径中发现的注解处理器, 需要使用 {@code -proc:full} 或显式声明处理器路径, 否则项目的索引不会生成;
+ * 读取到的索引全部来自框架自身时将输出警告.
+ *
+ * @author <a href="mailto:git@krun.dev">Jiankun-Zhang</a>
+ * @since 2026/10/17
+ */
+@Slf4j
+public class IndexedServiceRegisterBuilder implements ServiceRegisterBuilder {
+
+    public static final String INDEX_LOCATION = "META-INF/pyrgus/services";
+
+    private static final String FRAMEWORK_PACKAGE = "cloud.pyrgus.framework.";
+
+    private final ClassLoader classLoader;
+
+    /**
+     * 使用当前线程的上下文类加载器读取索引.
+     */
+    public IndexedServiceRegisterBuilder() {
+        this(Thread.currentThread().getContextClassLoader() != null
+                ? Thread.currentThread().getContextClassLoader()
+                : IndexedServiceRegisterBuilder.class.getClassLoader());
+    }
+
+    /**
+     * 创建一个新的注册表构造器.
+     *
+     * @param classLoader 用于读取索引与加载实现类的类加载器.
+     */
+    public IndexedServiceRegisterBuilder(@NotNull ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * 构建 {@link ServiceRegistry} 实例.
+     *
+     * @return 服务注册表实例.
+     */
+    @Override
+    public ServiceRegistry build() {
+        return build(new StartupProfiler());
+    }
+
+    /**
+     * 构建 {@link ServiceRegistry} 实例, 读取索引并加载实现类的耗时记录为 {@code index} 阶段.
+     *
+     * @param profiler 启动耗时记录器.
+     * @return 服务注册表实例.
+     */
+    @Override
+    public ServiceRegistry build(@NotNull StartupProfiler profiler) {
+        return new SimpleServiceRegistry(profiler.time("index", this::loadIndexedTypes), SimpleServiceRegistry.defaultBootstrap(), profiler);
+    }
+
+    private Set<Class<? extends Service>> loadIndexedTypes() {
+        Set<Class<? extends Service>> types = new LinkedHashSet<>();
+        for (String name : readIndex()) {
+            try {
+                Class<?> type = Class.forName(name, false, classLoader);
+                if (Service.class.isAssignableFrom(type) && !type.isInterface()) {
+                    types.add(type.asSubclass(Service.class));
+                } else {
+                    log.warn("skip indexed type [ {} ], it is not a service implementation.", name);
+                }
+            } catch (ClassNotFoundException | LinkageError e) {
+                log.warn("skip indexed type [ {} ]: {}", name, e.toString());
+            }
+        }
+        if (log.isDebugEnabled()) {
+            types.forEach(aClass -> log.debug("found component type: [ {} ]", aClass.getName()));
+        }
+        return types;
+    }
+
+    private Set<String> readIndex() {
+        Set<String> names = new LinkedHashSet<>();
+        String frameworkIndex = frameworkIndex();
+        boolean frameworkOnly = true;
+        try {
+            Enumeration<URL> resources = classLoader.getResources(INDEX_LOCATION);
+            while (resources.hasMoreElements()) {
+                URL resource = resources.nextElement();
+                frameworkOnly &= resource.toExternalForm().equals(frameworkIndex);
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        line = line.trim();
+                        if (!line.isEmpty() && !line.startsWith("#")) {
+                            names.add(line);
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("读取服务索引失败.", e);
+        }
+        if (frameworkOnly && names.stream().allMatch(name -> name.startsWith(FRAMEWORK_PACKAGE))) {
+            log.warn("only the framework service index was found, application services are not indexed. "
+                    + "make sure the annotation processor runs at compile time, e.g. javac -proc:full.");
+        }
+        return names;
+    }
+
+    /**
+     * 打包 fat jar 时各模块的索引会被合并到同一个文件中, 因此还需要结合索引中的类名判断是否只有框架自身的服务.
+     *
+     * @return 框架自身的索引文件的地址, 无法确定时返回 {@code null}.
+     */
+    private static String frameworkIndex() {
+        String resource = IndexedServiceRegisterBuilder.class.getName().replace('.', '/') + ".class";
+        URL url = IndexedServiceRegisterBuilder.class.getClassLoader().getResource(resource);
+        if (url == null) {
+            return null;
+        }
+        String location = url.toExternalForm();
+        return location.substring(0, location.length() - resource.length()) + INDEX_LOCATION;
+    }
+
+}
@@ -27,18 +27,30 @@ package cloud.pyrgus.framework.impl.core.service;
 import cloud.pyrgus.framework.core.service.Service;
 import cloud.pyrgus.framework.core.service.ServiceRegisterBuilder;
 import cloud.pyrgus.framework.core.service.ServiceRegistry;
+import cloud.pyrgus.framework.core.service.StartupProfiler;
+import io.vavr.control.Option;
 import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.reflections.Configuration;
 import org.reflections.Reflections;
 import org.reflections.scanners.Scanners;
 import org.reflections.util.ConfigurationBuilder;
+import org.reflections.util.FilterBuilder;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
- * 使用 {@link Reflections} 扫描 {@link Service} 的实现类并注册至 {@link SimpleServiceRegistry}.
+ * 使用 {@link Reflections} 扫描 {@link Service} 的实现类并注册至 {@link SimpleServiceRegistry}.<br/>
+ * 指定快照文件 (通过 {@link #snapshot(Path)} 或系统属性 {@value #PROP_SNAPSHOT}) 后, 首次启动时会将扫描结果写入快照,
+ * 此后扫描范围内的类路径条目未发生变化时直接读取快照, 不再扫描类路径.
  *
  * @author <a href="mailto:git@krun.dev">Jiankun-Zhang</a>
  * @since 2022/4/14
@@ -46,7 +58,13 @@ import java.util.stream.Collectors;
 @Slf4j
 public class ReflectionsServiceRegisterBuilder implements ServiceRegisterBuilder {
 
-    private final Reflections reflections;
+    public static final String PROP_SNAPSHOT = "pyrgus.service.registry.snapshot";
+
+    private final Configuration configuration;
+
+    private final Supplier<Reflections> reflections;
+
+    private Path snapshot = Option.of(System.getProperty(PROP_SNAPSHOT)).map(Paths::get).getOrNull();
 
     /**
      * 创建一个新的注册表构造器.
@@ -61,12 +79,13 @@ public class ReflectionsServiceRegisterBuilder implements ServiceRegisterBuilder
     }
 
     /**
-     * 创建一个新的注册表构造器.
+     * 创建一个新的注册表构造器, 类路径扫描将推迟到 {@link #build()} 时进行.
      *
      * @param configuration 构造 {@link Reflections} 实例的配置内容.
      */
     public ReflectionsServiceRegisterBuilder(@NotNull Configuration configuration) {
-        this(new Reflections(configuration));
+        this.configuration = configuration;
+        this.reflections = () -> new Reflections(configuration);
     }
 
     /**
@@ -75,7 +94,19 @@ public class ReflectionsServiceRegisterBuilder implements ServiceRegisterBuilder
      * @param reflections 已配置好的 {@link Reflections} 实例.
      */
     public ReflectionsServiceRegisterBuilder(@NotNull Reflections reflections) {
-        this.reflections = reflections;
+        this.configuration = reflections.getConfiguration();
+        this.reflections = () -> reflections;
+    }
+
+    /**
+     * 指定扫描结果的快照文件.
+     *
+     * @param snapshot 快照文件, 为 {@code null} 时不使用快照.
+     * @return 此构造器.
+     */
+    public ReflectionsServiceRegisterBuilder snapshot(@Nullable Path snapshot) {
+        this.snapshot = snapshot;
+        return this;
     }
 
     /**
@@ -85,14 +116,92 @@ public class ReflectionsServiceRegisterBuilder implements ServiceRegisterBuilder
      */
     @Override
     public ServiceRegistry build() {
-        Set<Class<? extends Service>> types = reflections.getSubTypesOf(Service.class)
-                .stream()
-                .filter(aClass -> !aClass.isInterface())
-                .collect(Collectors.toSet());
-        if (log.isDebugEnabled()) {
-            types.forEach(aClass -> log.debug("found component type: [ {} ]", reflections.toName(aClass)));
+        return build(new StartupProfiler());
+    }
+
+    /**
+     * 构建 {@link ServiceRegistry} 实例, 类路径扫描的耗时记录为 {@code scan} 阶段,
+     * 使用快照时还会记录 {@code snapshot.fingerprint}, {@code snapshot.read} 与 {@code snapshot.write} 阶段.
+     *
+     * @param profiler 启动耗时记录器.
+     * @return 服务注册表实例.
+     */
+    @Override
+    public ServiceRegistry build(@NotNull StartupProfiler profiler) {
+        if (snapshot == null) {
+            return new SimpleServiceRegistry(scan(profiler), SimpleServiceRegistry.defaultBootstrap(), profiler);
+        }
+        byte[] fingerprint = profiler.time("snapshot.fingerprint", () -> {
+            try {
+                return RegistrySnapshot.fingerprint(configuration.getUrls(), scope());
+            } catch (IOException e) {
+                log.warn("compute classpath fingerprint failed, registry snapshot disabled: {}", e.toString());
+                return null;
+            }
+        });
+        Set<Class<? extends Service>> types = fingerprint == null
+                ? null
+                : profiler.time("snapshot.read", () -> RegistrySnapshot.read(snapshot, fingerprint).map(this::load).getOrNull());
+        if (types == null) {
+            types = scan(profiler);
+            if (fingerprint != null) {
+                Set<Class<? extends Service>> scanned = types;
+                profiler.time("snapshot.write", () -> {
+                    try {
+                        RegistrySnapshot.write(snapshot, fingerprint, scanned.stream().map(Class::getName).sorted().collect(Collectors.toList()));
+                    } catch (IOException e) {
+                        log.warn("write registry snapshot [ {} ] failed: {}", snapshot, e.toString());
+                    }
+                    return null;
+                });
+            }
+        }
+        return new SimpleServiceRegistry(types, SimpleServiceRegistry.defaultBootstrap(), profiler);
+    }
+
+    /**
+     * 扫描的包过滤条件, 只有 {@link FilterBuilder} 能够稳定地描述自身, 其它过滤条件不计入指纹.
+     */
+    private String scope() {
+        return configuration.getInputsFilter() instanceof FilterBuilder ? configuration.getInputsFilter().toString() : "";
+    }
+
+    /**
+     * 加载快照中的类, 任一类无法加载时视为快照失效.
+     */
+    @Nullable
+    private Set<Class<? extends Service>> load(List<String> names) {
+        ClassLoader classLoader = Option.of(Thread.currentThread().getContextClassLoader())
+                .getOrElse(ReflectionsServiceRegisterBuilder.class.getClassLoader());
+        Set<Class<? extends Service>> types = new LinkedHashSet<>();
+        for (String name : names) {
+            try {
+                Class<?> type = Class.forName(name, false, classLoader);
+                if (!Service.class.isAssignableFrom(type)) {
+                    log.info("ignore registry snapshot [ {} ], [ {} ] is no longer a service.", snapshot, name);
+                    return null;
+                }
+                types.add(type.asSubclass(Service.class));
+            } catch (ClassNotFoundException | LinkageError e) {
+                log.info("ignore registry snapshot [ {} ], load [ {} ] failed: {}", snapshot, name, e.toString());
+                return null;
+            }
         }
-        return new SimpleServiceRegistry(types);
+        return types;
+    }
+
+    private Set<Class<? extends Service>> scan(StartupProfiler profiler) {
+        return profiler.time("scan", () -> {
+            Reflections reflections = this.reflections.get();
+            Set<Class<? extends Service>> found = reflections.getSubTypesOf(Service.class)
+                    .stream()
+                    .filter(aClass -> !aClass.isInterface())
+                    .collect(Collectors.toSet());
+            if (log.isDebugEnabled()) {
+                found.forEach(aClass -> log.debug("found component type: [ {} ]", reflections.toName(aClass)));
+            }
+            return found;
+        });
     }
 
 }
@@ -0,0 +1,201 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Zhang Jiankun
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package cloud.pyrgus.framework.impl.core.service;
+
+import io.vavr.control.Option;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.*;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * 服务类型扫描结果的二进制快照, 用于在类路径未发生变化的重启中跳过类路径扫描.<br/>
+ * 格式依次为: 魔数, 格式版本, 类路径指纹, 类名数量, 各类名 (modified UTF-8).
+ * 类路径指纹由扫描范围内每个条目的路径、大小与修改时间计算得出, 目录条目会遍历其中的所有文件,
+ * {@code jar:} 条目取其外层归档文件的大小与修改时间. 无法解析到本地文件的条目不可计算指纹, 此时快照应被禁用.
+ *
+ * @author <a href="mailto:git@krun.dev">Jiankun-Zhang</a>
+ * @since 2026/10/17
+ */
+@Slf4j
+final class RegistrySnapshot {
+
+    private static final int MAGIC = 0x50594753;
+
+    private static final short VERSION = 1;
+
+    private RegistrySnapshot() {
+    }
+
+    /**
+     * 计算类路径指纹.
+     *
+     * @param urls  扫描范围内的类路径条目.
+     * @param scope 其它影响扫描结果的描述, 例如扫描的包过滤条件.
+     * @return SHA-256 摘要.
+     * @throws IOException 读取文件属性失败, 或存在无法解析到本地文件的类路径条目.
+     */
+    static byte[] fingerprint(@NotNull Collection<URL> urls, @NotNull String scope) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("当前运行环境不支持 SHA-256.", e);
+        }
+        update(digest, scope);
+        List<String> sorted = new ArrayList<>();
+        urls.forEach(url -> sorted.add(url.toExternalForm()));
+        Collections.sort(sorted);
+        for (String url : sorted) {
+            update(digest, url);
+            Path path = toPath(url);
+            if (!Files.exists(path)) {
+                continue;
+            }
+            if (Files.isDirectory(path)) {
+                List<String> entries = new ArrayList<>();
+                try (Stream<Path> files = Files.walk(path)) {
+                    files.filter(Files::isRegularFile).forEach(file -> {
+                        try {
+                            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                            entries.add(path.relativize(file) + ":" + attributes.size() + ":" + attributes.lastModifiedTime().toMillis());
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+                Collections.sort(entries);
+                entries.forEach(entry -> update(digest, entry));
+            } else {
+                BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                update(digest, attributes.size() + ":" + attributes.lastModifiedTime().toMillis());
+            }
+        }
+        return digest.digest();
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static Path toPath(String url) throws IOException {
+        String location = url;
+        if (location.startsWith("jar:")) {
+            int separator = location.indexOf("!/");
+            location = location.substring("jar:".length(), separator < 0 ? location.length() : separator);
+        }
+        if (!location.startsWith("file:")) {
+            throw new IOException("无法解析类路径条目 [ " + url + " ] 对应的本地文件.");
+        }
+        try {
+            return Paths.get(new URL(location).toURI());
+        } catch (URISyntaxException | IllegalArgumentException | FileSystemNotFoundException e) {
+            throw new IOException("无法解析类路径条目 [ " + url + " ] 对应的本地文件.", e);
+        }
+    }
+
+    /**
+     * 读取快照.
+     *
+     * @param file        快照文件.
+     * @param fingerprint 当前的类路径指纹.
+     * @return 快照存在、格式正确且指纹一致时返回其中的类名, 否则返回 {@link Option#none()}.
+     */
+    static Option<List<String>> read(@NotNull Path file, @NotNull byte[] fingerprint) {
+        if (!Files.isRegularFile(file)) {
+            return Option.none();
+        }
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (input.readInt() != MAGIC || input.readShort() != VERSION) {
+                log.warn("ignore registry snapshot [ {} ], unknown format.", file);
+                return Option.none();
+            }
+            byte[] stored = new byte[input.readUnsignedByte()];
+            input.readFully(stored);
+            if (!Arrays.equals(stored, fingerprint)) {
+                log.info("ignore registry snapshot [ {} ], classpath has changed.", file);
+                return Option.none();
+            }
+            int count = input.readInt();
+            if (count < 0) {
+                log.warn("ignore registry snapshot [ {} ], invalid entry count {}.", file, count);
+                return Option.none();
+            }
+            List<String> names = new ArrayList<>(Math.min(count, 1024));
+            for (int i = 0; i < count; i++) {
+                names.add(input.readUTF());
+            }
+            return Option.of(names);
+        } catch (IOException e) {
+            log.warn("ignore registry snapshot [ {} ]: {}", file, e.toString());
+            return Option.none();
+        }
+    }
+
+    /**
+     * 写入快照, 先写入同目录下的临时文件再替换, 因此并发启动的进程不会读取到不完整的快照.
+     *
+     * @param file        快照文件.
+     * @param fingerprint 当前的类路径指纹.
+     * @param names       服务实现类名称.
+     */
+    static void write(@NotNull Path file, @NotNull byte[] fingerprint, @NotNull Collection<String> names) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                output.writeInt(MAGIC);
+                output.writeShort(VERSION);
+                output.writeByte(fingerprint.length);
+                output.write(fingerprint);
+                output.writeInt(names.size());
+                for (String name : names) {
+                    output.writeUTF(name);
+                }
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+}
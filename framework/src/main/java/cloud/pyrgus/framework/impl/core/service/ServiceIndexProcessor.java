@@ -0,0 +1,154 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Zhang Jiankun
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package cloud.pyrgus.framework.impl.core.service;
+
+import cloud.pyrgus.framework.core.service.Service;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 在编译期收集 {@link Service} 的实现类并写入 {@value IndexedServiceRegisterBuilder#INDEX_LOCATION},
+ * 供 {@link IndexedServiceRegisterBuilder} 在启动时读取.<br/>
+ * 只收集可被 {@link SimpleServiceRegistry} 实例化的类型: 公开、非抽象的顶层类或静态内部类.
+ * 增量编译时会保留旧索引中仍然存在的类型.<br/>
+ * 此处理器通过 {@code META-INF/services/javax.annotation.processing.Processor} 注册, 依赖 Pyrgus 的项目在编译时会自动启用;
+ * 若项目配置了 {@code annotationProcessorPaths}, 则需要将 Pyrgus 加入其中.
+ *
+ * @author <a href="mailto:git@krun.dev">Jiankun-Zhang</a>
+ * @since 2026/10/17
+ */
+@SupportedAnnotationTypes("*")
+public class ServiceIndexProcessor extends AbstractProcessor {
+
+    private final Set<String> services = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        TypeElement serviceElement = processingEnv.getElementUtils().getTypeElement(Service.class.getName());
+        if (serviceElement == null) {
+            return false;
+        }
+        TypeMirror serviceType = serviceElement.asType();
+        for (Element element : roundEnv.getRootElements()) {
+            collect(element, serviceType);
+        }
+        if (roundEnv.processingOver()) {
+            write(serviceType);
+        }
+        return false;
+    }
+
+    private void collect(Element element, TypeMirror serviceType) {
+        if (!(element instanceof TypeElement)) {
+            return;
+        }
+        TypeElement type = (TypeElement) element;
+        if (!type.getModifiers().contains(Modifier.PUBLIC)) {
+            return;
+        }
+        if (isIndexable(type, serviceType)) {
+            services.add(processingEnv.getElementUtils().getBinaryName(type).toString());
+        }
+        for (Element enclosed : type.getEnclosedElements()) {
+            collect(enclosed, serviceType);
+        }
+    }
+
+    private boolean isIndexable(TypeElement type, TypeMirror serviceType) {
+        Set<Modifier> modifiers = type.getModifiers();
+        return type.getKind() == ElementKind.CLASS
+                && modifiers.contains(Modifier.PUBLIC)
+                && !modifiers.contains(Modifier.ABSTRACT)
+                && (!type.getNestingKind().isNested() || modifiers.contains(Modifier.STATIC))
+                && processingEnv.getTypeUtils().isAssignable(processingEnv.getTypeUtils().erasure(type.asType()), serviceType);
+    }
+
+    private void write(TypeMirror serviceType) {
+        Filer filer = processingEnv.getFiler();
+        Set<String> names = new TreeSet<>(services);
+        names.addAll(readPrevious(filer, serviceType));
+        if (names.isEmpty()) {
+            return;
+        }
+        try {
+            FileObject index = filer.createResource(StandardLocation.CLASS_OUTPUT, "", IndexedServiceRegisterBuilder.INDEX_LOCATION);
+            try (Writer writer = new OutputStreamWriter(index.openOutputStream(), StandardCharsets.UTF_8)) {
+                for (String name : names) {
+                    writer.write(name);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "无法写入服务索引: " + e);
+        }
+    }
+
+    /**
+     * 读取增量编译前生成的索引, 只保留仍然存在且符合条件的类型.
+     */
+    private Set<String> readPrevious(Filer filer, TypeMirror serviceType) {
+        Set<String> names = new TreeSet<>();
+        try {
+            FileObject previous = filer.getResource(StandardLocation.CLASS_OUTPUT, "", IndexedServiceRegisterBuilder.INDEX_LOCATION);
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(previous.openInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    line = line.trim();
+                    if (line.isEmpty() || line.startsWith("#")) {
+                        continue;
+                    }
+                    TypeElement type = processingEnv.getElementUtils().getTypeElement(line.replace('$', '.'));
+                    if (type != null && isIndexable(type, serviceType)) {
+                        names.add(line);
+                    }
+                }
+            }
+        } catch (IOException | IllegalArgumentException ignored) {
+            // 不存在旧索引.
+        }
+        return names;
+    }
+}
@@ -25,22 +25,24 @@
 package cloud.pyrgus.framework.impl.core.service;
 
 import cloud.pyrgus.framework.Pyrgus;
+import cloud.pyrgus.framework.core.service.Alternative;
 import cloud.pyrgus.framework.core.service.Configurable;
 import cloud.pyrgus.framework.core.service.PropertyProvider;
 import cloud.pyrgus.framework.core.service.Service;
 import cloud.pyrgus.framework.core.service.ServiceRegistry;
+import cloud.pyrgus.framework.core.service.StartupProfiler;
 import cloud.pyrgus.framework.core.service.exception.PyrgusServiceException;
 import cloud.pyrgus.framework.core.service.exception.ServiceNotRegisteredException;
 import cloud.pyrgus.framework.core.service.exception.ServiceNotUniqueException;
 import io.vavr.control.Option;
 import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Modifier;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * 一个简单的 {@link ServiceRegistry} 实现, 要求所有服务实例都只应该只有一个无餐构造器.
@@ -56,108 +58,161 @@ import java.util.stream.Collectors;
  * Foo1 foo1 = register.loadService(Foo1.class);
  * FooImpl fooImpl = register.loadService(FooImpl.class);
  * </pre>
+ * 注册表构建完毕后每个服务类型的实例列表不再变化, 每个实例只在首次被加载时配置一次, 此后的加载不需要加锁.<br/>
+ * 同一服务类型存在多个实现时, 可以通过以服务类型名称为键、实现类名称为值的系统属性选择其中一个, 标记了 {@link Alternative} 的实现只有被选择时才会注册.<br/>
+ * 服务实例的创建时机由 {@link ServiceBootstrap} 决定, 未显式指定时读取系统属性 {@value #PROP_BOOTSTRAP}, 默认为 {@link ServiceBootstrap#Eager}.
  *
  * @author <a href="mailto:git@krun.dev">Jiankun-Zhang</a>
  * @since 2022/4/13
  */
 @Slf4j
-public class SimpleServiceRegistry implements ServiceRegistry {
+public class SimpleServiceRegistry implements ServiceRegistry, Configurable {
 
-    private final Map<Class<? extends Service>, List<Service>> services = new HashMap<>();
+    public static final String PROP_BOOTSTRAP = "pyrgus.service.registry.bootstrap";
 
-    public SimpleServiceRegistry(@NotNull Set<Class<? extends Service>> classes) {
-        for (Class<? extends Service> type : classes) {
-            if (!Modifier.isPublic(type.getModifiers())
-                    || type.isInterface()
-                    || !isSpecifiedByProperties(type)) {
-                continue;
+    /**
+     * 每个类型继承关系上的所有 {@link Service} 类型 (包括自身), 按自身、接口、父类的深度优先顺序排列且不重复.
+     * 结果基于父类型与接口的结果计算, 因此共享的继承关系只会遍历一次.
+     */
+    private static final ClassValue<List<Class<? extends Service>>> SERVICE_TYPES = new ClassValue<List<Class<? extends Service>>>() {
+        @Override
+        @SuppressWarnings("unchecked")
+        protected List<Class<? extends Service>> computeValue(Class<?> type) {
+            if (!Service.class.isAssignableFrom(type)) {
+                return Collections.emptyList();
             }
-            try {
-                Constructor<?>[] constructors = type.getConstructors();
-                if (constructors.length > 1) {
-                    skip(type);
-                } else if (constructors.length == 1) {
-                    Constructor<?> constructor = constructors[0];
-                    constructor.setAccessible(true);
-                    Class<?>[] parameterTypes = constructor.getParameterTypes();
-                    if (parameterTypes.length == 0) {
-                        if (log.isDebugEnabled()) {
-                            log.debug("register service: [ {} ]. ", constructor.getDeclaringClass().getName());
-                        }
-                        appendComponent(type.newInstance());
-                    } else {
-                        skip(type);
-                    }
-                } else {
-                    constructors = type.getDeclaredConstructors();
-                    if (constructors.length != 1) {
-                        skip(type);
-                    } else if (constructors[0].getParameterCount() == 0) {
-                        appendComponent(type.newInstance());
-                    } else {
-                        skip(type);
-                    }
-                }
-            } catch (InstantiationException | IllegalAccessException e) {
-                log.error("initiate service [ " + type.getName() + " ] failed.", e);
+            Set<Class<? extends Service>> types = new LinkedHashSet<>();
+            types.add((Class<? extends Service>) type);
+            for (Class<?> anInterface : type.getInterfaces()) {
+                types.addAll(get(anInterface));
             }
+            if (type.getSuperclass() != null) {
+                types.addAll(get(type.getSuperclass()));
+            }
+            return Collections.unmodifiableList(new ArrayList<>(types));
         }
+    };
+
+    private final Map<Class<? extends Service>, Snapshot> services;
+
+    private final Object configureLock = new Object();
+
+    private final ServiceBootstrap bootstrap;
+
+    private final StartupProfiler profiler;
+
+    /**
+     * 当前线程正在配置的服务实例中嵌套配置其依赖所花费的时间, 仅在持有 {@link #configureLock} 时访问.
+     */
+    private long nestedConfigureNanos = 0;
+
+    public SimpleServiceRegistry(@NotNull Set<Class<? extends Service>> classes) {
+        this(classes, defaultBootstrap());
     }
 
-    private boolean isSpecifiedByProperties(Class<? extends Service> type) {
-        Properties properties = System.getProperties();
-        for (Class<? extends Service> aClass : extract(type)) {
-            String key = aClass.getName();
-            if (properties.containsKey(key)) {
-                return Objects.equals(properties.get(key), type.getName());
-            }
+    public SimpleServiceRegistry(@NotNull Set<Class<? extends Service>> classes, @NotNull ServiceBootstrap bootstrap) {
+        this(classes, bootstrap, new StartupProfiler());
+    }
+
+    /**
+     * @param classes   服务实现类.
+     * @param bootstrap 服务实例的创建时机.
+     * @param profiler  构建过程中各阶段 ({@code registry.select}, {@code registry.instantiate}, {@code registry.register},
+     *                  {@link ServiceBootstrap#Parallel} 模式下还有 {@code registry.configure}) 与各服务的耗时将记录至此.
+     */
+    public SimpleServiceRegistry(@NotNull Set<Class<? extends Service>> classes, @NotNull ServiceBootstrap bootstrap, @NotNull StartupProfiler profiler) {
+        this.bootstrap = bootstrap;
+        this.profiler = profiler;
+        List<Registration> candidates = profiler.time("registry.select", () -> select(classes, selections()));
+        if (bootstrap != ServiceBootstrap.Lazy) {
+            profiler.time("registry.instantiate", () -> {
+                Stream<Registration> stream = bootstrap == ServiceBootstrap.Parallel ? candidates.parallelStream() : candidates.stream();
+                stream.forEach(registration -> registration.instantiate(profiler));
+                return candidates.removeIf(registration -> registration.service == null);
+            });
         }
-        return true;
+        this.services = profiler.time("registry.register", () -> {
+            Map<Class<? extends Service>, List<Registration>> registered = new HashMap<>();
+            for (Registration registration : candidates) {
+                for (Class<? extends Service> serviceType : SERVICE_TYPES.get(registration.type)) {
+                    registered.computeIfAbsent(serviceType, key -> new ArrayList<>()).add(registration);
+                }
+            }
+            return freeze(registered);
+        });
     }
 
-    @SuppressWarnings("unchecked")
-    private Set<Class<? extends Service>> extract(Class<? extends Service> type) {
-        Set<Class<? extends Service>> types = new HashSet<>();
-        while (!Object.class.equals(type)) {
-            if (Service.class.isAssignableFrom(type)) {
-                types.add(type);
+    static ServiceBootstrap defaultBootstrap() {
+        return Option.of(System.getProperty(PROP_BOOTSTRAP))
+                .map(ServiceBootstrap::valueOf)
+                .getOrElse(ServiceBootstrap.Eager);
+    }
+
+    /**
+     * 一次性读取系统属性中的实现类选择, 构建过程中不再反复访问 {@link System#getProperties()}.
+     *
+     * @return 以服务类型名称为键、实现类名称为值的选择, 只包括值为字符串的属性.
+     */
+    private static Map<String, String> selections() {
+        Map<String, String> selections = new HashMap<>();
+        System.getProperties().forEach((key, value) -> {
+            if (key instanceof String && value instanceof String) {
+                selections.put((String) key, (String) value);
             }
-            for (Class<?> typeInterface : type.getInterfaces()) {
-                if (Service.class.isAssignableFrom(typeInterface)) {
-                    types.add((Class<? extends Service>) typeInterface);
-                }
+        });
+        return selections;
+    }
+
+    private List<Registration> select(Set<Class<? extends Service>> classes, Map<String, String> selections) {
+        List<Registration> candidates = new ArrayList<>();
+        for (Class<? extends Service> type : classes) {
+            if (!Modifier.isPublic(type.getModifiers())
+                    || type.isInterface()
+                    || !isSpecifiedByProperties(type, selections)
+                    || !isInstantiable(type)) {
+                continue;
             }
-            type = (Class<? extends Service>) type.getSuperclass();
+            if (log.isDebugEnabled()) {
+                log.debug("register service: [ {} ]. ", type.getName());
+            }
+            candidates.add(new Registration(type));
         }
-        return types;
+        return candidates;
     }
 
-    private void skip(Class<? extends Service> type) {
-        log.warn("skip service [ {} ], make sure the service only have one public constructor with no parameters.", type);
+    private static Map<Class<? extends Service>, Snapshot> freeze(Map<Class<? extends Service>, List<Registration>> registered) {
+        Map<Class<? extends Service>, Snapshot> snapshots = new HashMap<>();
+        registered.forEach((type, list) -> snapshots.put(type, new Snapshot(list.toArray(new Registration[0]))));
+        return snapshots;
     }
 
-    private void appendComponent(@NotNull Service service) {
-        findComponentTypeThenRegister(service.getClass(), service);
+    /**
+     * 按继承关系从近到远查找第一个被选择的服务类型, 判断 {@code type} 是否是被选中的实现.
+     */
+    private boolean isSpecifiedByProperties(Class<? extends Service> type, Map<String, String> selections) {
+        for (Class<? extends Service> aClass : SERVICE_TYPES.get(type)) {
+            String selected = selections.get(aClass.getName());
+            if (selected != null) {
+                return selected.equals(type.getName());
+            }
+        }
+        return !type.isAnnotationPresent(Alternative.class);
     }
 
-    @SuppressWarnings("unchecked")
-    private void findComponentTypeThenRegister(@Nullable Class<?> aClass, @NotNull Service service) {
-        if (aClass == null || Object.class.equals(aClass)) {
-            return;
-        }
-        if (Service.class.isAssignableFrom(aClass)) {
-            registerComponent((Class<? extends Service>) aClass, service);
+    private boolean isInstantiable(Class<? extends Service> type) {
+        Constructor<?>[] constructors = type.getConstructors();
+        if (constructors.length == 0) {
+            constructors = type.getDeclaredConstructors();
         }
-        for (Class<?> anInterface : aClass.getInterfaces()) {
-            findComponentTypeThenRegister(anInterface, service);
+        if (constructors.length != 1 || constructors[0].getParameterCount() != 0) {
+            skip(type);
+            return false;
         }
-        findComponentTypeThenRegister(aClass.getSuperclass(), service);
+        return true;
     }
 
-    private void registerComponent(@NotNull Class<? extends Service> serviceType, @NotNull Service service) {
-        List<Service> list = Option.of(services.get(serviceType)).getOrElse(ArrayList::new);
-        list.add(service);
-        services.put(serviceType, list);
+    private void skip(Class<? extends Service> type) {
+        log.warn("skip service [ {} ], make sure the service only have one public constructor with no parameters.", type);
     }
 
     /**
@@ -180,28 +235,207 @@ public class SimpleServiceRegistry implements ServiceRegistry {
                     .map(s -> (Class<? extends S>) s.getClass())
                     .collect(Collectors.toList()));
         }
-        return configureServiceIfNeed(services.get(0));
-    }
-
-    private <S extends Service> S configureServiceIfNeed(S service) {
-        if (service instanceof Configurable) {
-            ((Configurable) service).configure(this, (PropertyProvider) Pyrgus.getInstance());
-        }
-        return service;
+        return services.get(0);
     }
 
     /**
      * 加载指定服务类型的所有实例.
      *
      * @param serviceType 希望加载的服务类型.
-     * @return 注册表中该服务类型的所有实例, 如果没有至少一个实例则返回空集合: {@link Collections#EMPTY_LIST}.
+     * @return 注册表中该服务类型的所有实例 (不可修改), 如果没有至少一个实例则返回空集合: {@link Collections#EMPTY_LIST}.
      */
     @Override
     @SuppressWarnings("unchecked")
     public @NotNull <S extends Service> List<S> loadServices(@NotNull Class<S> serviceType) {
-        return (List<S>) services.getOrDefault(serviceType, Collections.emptyList())
-                .stream()
-                .map(this::configureServiceIfNeed)
-                .collect(Collectors.toList());
+        Snapshot snapshot = services.get(serviceType);
+        if (snapshot == null) {
+            return Collections.emptyList();
+        }
+        if (!snapshot.configured) {
+            configure(snapshot);
+        }
+        return (List<S>) snapshot.services;
+    }
+
+    /**
+     * 获取注册为指定服务类型的所有实现类, 不会创建实例.
+     *
+     * @param serviceType 服务类型.
+     * @param <S>         服务类型.
+     * @return 实现类列表, 没有实现时返回空集合.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public @NotNull <S extends Service> List<Class<? extends S>> getServiceClasses(@NotNull Class<S> serviceType) {
+        Snapshot snapshot = services.get(serviceType);
+        if (snapshot == null) {
+            return Collections.emptyList();
+        }
+        List<Class<? extends S>> classes = new ArrayList<>(snapshot.registrations.length);
+        for (Registration registration : snapshot.registrations) {
+            classes.add((Class<? extends S>) registration.type);
+        }
+        return classes;
+    }
+
+    /**
+     * {@link cloud.pyrgus.framework.Pyrgus} 完成配置后调用. {@link ServiceBootstrap#Parallel} 模式下将立即配置所有服务实例,
+     * 服务在配置过程中加载的其它服务会先于它配置完毕, 因此配置顺序与服务之间的依赖顺序一致.
+     *
+     * @param serviceRegistry  服务注册表
+     * @param propertyProvider 属性提供器
+     */
+    @Override
+    public void configure(@NotNull ServiceRegistry serviceRegistry, @NotNull PropertyProvider propertyProvider) {
+        if (bootstrap != ServiceBootstrap.Parallel) {
+            return;
+        }
+        synchronized (configureLock) {
+            long start = System.nanoTime();
+            profiler.time("registry.configure", () -> {
+                services.values().forEach(this::configure);
+                return null;
+            });
+            List<Registration> order = new ArrayList<>();
+            Set<Registration> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (Snapshot snapshot : services.values()) {
+                for (Registration registration : snapshot.registrations) {
+                    if (seen.add(registration)) {
+                        order.add(registration);
+                    }
+                }
+            }
+            if (log.isDebugEnabled()) {
+                order.sort(Comparator.comparingLong(registration -> registration.configuredAt));
+                for (Registration registration : order) {
+                    log.debug("service [ {} ] instantiated in {} us, configured in {} us.",
+                            registration.type.getName(),
+                            registration.instantiateNanos / 1000,
+                            registration.configureNanos / 1000);
+                }
+            }
+            log.info("bootstrap {} services in {} us.", order.size(), (System.nanoTime() - start) / 1000);
+        }
+    }
+
+    private void configure(Snapshot snapshot) {
+        synchronized (configureLock) {
+            if (snapshot.configured) {
+                return;
+            }
+            if (snapshot.services == null) {
+                List<Service> list = new ArrayList<>(snapshot.registrations.length);
+                for (Registration registration : snapshot.registrations) {
+                    if (registration.instantiate(profiler)) {
+                        list.add(registration.service);
+                    }
+                }
+                snapshot.services = Collections.unmodifiableList(list);
+            }
+            boolean configured = true;
+            for (Registration registration : snapshot.registrations) {
+                configured &= configure(registration);
+            }
+            snapshot.configured = configured;
+        }
+    }
+
+    /**
+     * 配置服务实例, 调用方必须持有 {@link #configureLock}.
+     *
+     * @return 服务实例正处于配置过程中 (存在循环依赖) 时返回 {@code false}, 此时提供的是尚未配置完毕的实例.
+     */
+    private boolean configure(Registration registration) {
+        if (registration.configured) {
+            return true;
+        }
+        if (registration.configuring) {
+            return false;
+        }
+        Service service = registration.service;
+        if (service instanceof Configurable) {
+            registration.configuring = true;
+            long outerNested = nestedConfigureNanos;
+            nestedConfigureNanos = 0;
+            long start = System.nanoTime();
+            try {
+                ((Configurable) service).configure(this, (PropertyProvider) Pyrgus.getInstance());
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                registration.configureNanos = elapsed - nestedConfigureNanos;
+                profiler.configured(registration.type, registration.configureNanos);
+                nestedConfigureNanos = outerNested + elapsed;
+                registration.configuring = false;
+            }
+        }
+        registration.configuredAt = System.nanoTime();
+        registration.configured = true;
+        return true;
+    }
+
+    /**
+     * 某个服务类型的注册信息, 首次加载时创建其中尚未创建的实例并生成不可变的实例列表, 全部配置完毕后 {@link #configured} 将被置为 {@code true}.
+     */
+    private static class Snapshot {
+
+        private final Registration[] registrations;
+
+        private volatile List<Service> services;
+
+        private volatile boolean configured = false;
+
+        private Snapshot(Registration[] registrations) {
+            this.registrations = registrations;
+        }
+    }
+
+    /**
+     * 服务实现类的实例、配置状态与启动耗时, 同一实现类在其所有服务类型之间共享, 构建完毕后仅在持有 {@link #configureLock} 时访问.
+     */
+    private static class Registration {
+
+        private final Class<? extends Service> type;
+
+        private Service service;
+
+        private boolean failed = false;
+
+        private boolean configured = false;
+
+        private boolean configuring = false;
+
+        private long instantiateNanos;
+
+        /**
+         * 不包括配置过程中嵌套配置其依赖的时间.
+         */
+        private long configureNanos;
+
+        private long configuredAt;
+
+        private Registration(Class<? extends Service> type) {
+            this.type = type;
+        }
+
+        /**
+         * 创建服务实例, 创建失败的实现类不会再次尝试.
+         *
+         * @param profiler 创建耗时将记录至此.
+         * @return 服务实例可用时返回 {@code true}.
+         */
+        private boolean instantiate(StartupProfiler profiler) {
+            if (service == null && !failed) {
+                long start = System.nanoTime();
+                try {
+                    service = type.newInstance();
+                    instantiateNanos = System.nanoTime() - start;
+                    profiler.instantiated(type, instantiateNanos);
+                } catch (InstantiationException | IllegalAccessException e) {
+                    failed = true;
+                    log.error("initiate service [ " + type.getName() + " ] failed.", e);
+                }
+            }
+            return service != null;
+        }
     }
 }
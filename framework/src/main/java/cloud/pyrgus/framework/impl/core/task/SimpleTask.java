@@ -27,26 +27,63 @@ package cloud.pyrgus.framework.impl.core.task;
 import cloud.pyrgus.framework.core.message.Message;
 import cloud.pyrgus.framework.core.message.MessageConsumer;
 import cloud.pyrgus.framework.core.task.Task;
-import lombok.Value;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 /**
+ * 上下文与状态只在首次访问时创建, 多数任务不会使用它们.
+ *
  * @author <a href="mailto:git@krun.dev">Jiankun-Zhang</a>
  * @since 2022/4/14
  */
-@Value
+@Getter
 public class SimpleTask implements Task {
 
-    Message message;
+    private final Message message;
+
+    private final MessageConsumer consumer;
+
+    @Getter(AccessLevel.NONE)
+    private Map<String, Object> context;
+
+    @Getter(AccessLevel.NONE)
+    private Map<String, Object> state;
 
-    MessageConsumer consumer;
+    private final CompletableFuture<Object> future;
 
-    Map<String, Object> context;
+    /**
+     * @param context 为 {@code null} 时在首次访问时创建.
+     * @param state   为 {@code null} 时在首次访问时创建.
+     */
+    public SimpleTask(@NotNull Message message, @NotNull MessageConsumer consumer, @Nullable Map<String, Object> context,
+                      @Nullable Map<String, Object> state, @NotNull CompletableFuture<Object> future) {
+        this.message = message;
+        this.consumer = consumer;
+        this.context = context;
+        this.state = state;
+        this.future = future;
+    }
 
-    Map<String, Object> state;
+    @Override
+    public @NotNull Map<String, Object> getContext() {
+        if (context == null) {
+            context = new HashMap<>();
+        }
+        return context;
+    }
 
-    CompletableFuture<Object> future;
+    @Override
+    public @NotNull Map<String, Object> getState() {
+        if (state == null) {
+            state = new HashMap<>();
+        }
+        return state;
+    }
 
 }
@@ -34,22 +34,62 @@ import io.vavr.control.Option;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
+ * 使用固定数量工作线程执行任务的执行器, {@link Mode#Background} 任务由一个工作窃取线程池执行,
+ * 工作线程数量不会随任务突发而增长; {@link Mode#IO} 任务由独立的 IO 通道执行, 运行时支持虚拟线程时为每个任务启动一个虚拟线程,
+ * 否则使用独立的线程池, 以免阻塞任务占满处理 {@link Mode#Background} 任务的线程.<br/>
+ * 每个通道中尚未执行完毕的任务超出容量时 {@link #submit(Message, MessageConsumer, Map, Mode)} 将返回 {@code null}.<br/>
+ * 可通过 {@link PropertyProvider} 配置以下属性:
+ * <ul>
+ *     <li>{@value #PROP_BACKGROUND_PARALLELISM}: 工作线程数量, 默认为可用处理器数量.</li>
+ *     <li>{@value #PROP_BACKGROUND_CAPACITY}: 尚未执行完毕的任务数量上限, 默认为工作线程数量的 {@value #DEFAULT_CAPACITY_PER_THREAD} 倍.</li>
+ *     <li>{@value #PROP_IO_VIRTUAL}: IO 通道是否优先使用虚拟线程, 默认为 {@code true}.</li>
+ *     <li>{@value #PROP_IO_THREADS}: 不使用虚拟线程时 IO 通道的线程数量, 默认为可用处理器数量的 4 倍且不少于 16.</li>
+ *     <li>{@value #PROP_IO_CAPACITY}: IO 通道中尚未执行完毕的任务数量上限, 默认为 IO 线程数量的 {@value #DEFAULT_CAPACITY_PER_THREAD} 倍.</li>
+ * </ul>
+ * 各通道的统计数据可通过 {@link #metrics(Mode)} 获取.<br/>
+ * 拦截器链按消费者类型预先筛选 ({@link TaskInterceptor#appliesTo(Class)}), 没有适用拦截器的消费者将被直接调用.<br/>
+ * 被 {@link AsyncTaskInterceptor} 挂起的任务在阶段完成后重新进入其原本所在的任务通道继续执行, 通道已满时在完成阶段的线程中继续;
+ * {@link Mode#Posting} 任务与直接调用 {@link #execute(Task)} 的任务总是在完成阶段的线程中继续.
+ *
  * @author <a href="mailto:git@krun.dev">Jiankun-Zhang</a>
  * @since 2022/4/14
  */
 public class SimpleThreadPoolTaskExecutor implements TaskExecutor, Configurable {
 
-    private final ExecutorService executorService = Executors.newCachedThreadPool();
+    public static final String PROP_BACKGROUND_PARALLELISM = "pyrgus.task.executor.background.parallelism";
+
+    public static final String PROP_BACKGROUND_CAPACITY = "pyrgus.task.executor.background.capacity";
+
+    public static final String PROP_IO_VIRTUAL = "pyrgus.task.executor.io.virtual";
+
+    public static final String PROP_IO_THREADS = "pyrgus.task.executor.io.threads";
+
+    public static final String PROP_IO_CAPACITY = "pyrgus.task.executor.io.capacity";
+
+    private static final int DEFAULT_CAPACITY_PER_THREAD = 4096;
+
     private final ThreadLocal<Task> executingTask = new ThreadLocal<>();
+    /**
+     * 每个线程空闲的拦截器链, 执行期间取出, 嵌套执行时将另行创建.
+     */
+    private final ThreadLocal<TaskInterceptorChain> idleChain = new ThreadLocal<>();
+    private TaskLane backgroundLane = null;
+    private TaskLane ioLane = null;
     private List<TaskInterceptor> interceptors = null;
+    /**
+     * 以消费者类型为键的适用拦截器, 随类卸载而释放, 因此每次调用时创建的 lambda 消费者不会导致缓存膨胀.
+     */
+    private ClassValue<List<TaskInterceptor>> chains = null;
+    private final TaskInterceptorChain.Resumer postingResumer = resumer(null);
+    private TaskInterceptorChain.Resumer backgroundResumer = null;
+    private TaskInterceptorChain.Resumer ioResumer = null;
 
     /**
      * 提交一个任务. 可以通过 {@link Task#getFuture()} 提前取消任务 (请检查 {@link CompletableFuture} 的状态以避免异常).
@@ -58,19 +98,103 @@ public class SimpleThreadPoolTaskExecutor implements TaskExecutor, Configurable
      * @param consumer 此次任务使用的消息消费者
      * @param state    此次任务由外部共享的状态, 置空则由执行器自行维护状态.
      * @param mode     此次任务的执行模式
-     * @return {@link Task} 实例
+     * @return {@link Task} 实例, 任务通道已满时返回 {@code null}.
      */
     @Override
-    public @NotNull Task submit(@NotNull Message message, @NotNull MessageConsumer consumer, @Nullable Map<String, Object> state, @NotNull Mode mode) {
+    public @Nullable Task submit(@NotNull Message message, @NotNull MessageConsumer consumer, @Nullable Map<String, Object> state, @NotNull Mode mode) {
         Task task = packTask(message, consumer, state);
-        if (mode == Mode.Posting) {
+        TaskLane lane = laneOf(mode);
+        if (lane == null) {
             execute(task);
-        } else {
-            executorService.submit(() -> execute(task));
+        } else if (!lane.offer(() -> execute(task, resumerOf(mode)))) {
+            return null;
         }
         return task;
     }
 
+    /**
+     * 批量提交任务, 整批任务以一次操作放入任务通道.
+     *
+     * @param messages  此次任务涉及的消息实例
+     * @param consumers 与消息一一对应的消息消费者
+     * @param state     此次任务由外部共享的状态, 置空则由执行器自行维护状态.
+     * @param mode      此次任务的执行模式
+     * @return 与消息一一对应的 {@link Task} 实例, 任务通道剩余容量不足以容纳整批任务时全部为 {@code null}.
+     */
+    @Override
+    public @NotNull List<Task> submitAll(@NotNull List<Message> messages, @NotNull List<MessageConsumer> consumers, @Nullable Map<String, Object> state, @NotNull Mode mode) {
+        List<Task> tasks = new ArrayList<>(messages.size());
+        for (int i = 0; i < messages.size(); i++) {
+            tasks.add(packTask(messages.get(i), consumers.get(i), state));
+        }
+        TaskLane lane = laneOf(mode);
+        if (lane == null) {
+            tasks.forEach(this::execute);
+            return tasks;
+        }
+        TaskInterceptorChain.Resumer resumer = resumerOf(mode);
+        List<Runnable> runnables = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            runnables.add(() -> execute(task, resumer));
+        }
+        return lane.offerAll(runnables) ? tasks : Collections.nCopies(tasks.size(), null);
+    }
+
+    @Nullable
+    private TaskLane laneOf(@NotNull Mode mode) {
+        switch (mode) {
+            case Background:
+                return backgroundLane;
+            case IO:
+                return ioLane;
+            default:
+                return null;
+        }
+    }
+
+    private TaskInterceptorChain.Resumer resumerOf(@NotNull Mode mode) {
+        switch (mode) {
+            case Background:
+                return backgroundResumer;
+            case IO:
+                return ioResumer;
+            default:
+                return postingResumer;
+        }
+    }
+
+    /**
+     * 挂起的任务在继续执行时同样被视为正在执行的任务, 以便其中提交的任务共享状态.
+     *
+     * @param lane 为 {@code null} 时在完成阶段的线程中继续.
+     */
+    private TaskInterceptorChain.Resumer resumer(@Nullable TaskLane lane) {
+        return (task, continuation) -> {
+            Runnable resumed = () -> {
+                Task previous = executingTask.get();
+                executingTask.set(task);
+                try {
+                    continuation.run();
+                } finally {
+                    executingTask.set(previous);
+                }
+            };
+            if (lane == null || !lane.offer(resumed)) {
+                resumed.run();
+            }
+        };
+    }
+
+    /**
+     * 获取指定执行模式所用任务通道的统计数据.
+     *
+     * @param mode 执行模式.
+     * @return 统计数据快照, {@link Mode#Posting} 在提交线程处执行, 因此总是返回 {@link Option#none()}.
+     */
+    public Option<TaskLaneMetrics> metrics(@NotNull Mode mode) {
+        return Option.of(laneOf(mode)).map(TaskLane::metrics);
+    }
+
     /**
      * 执行任务.
      *
@@ -78,13 +202,38 @@ public class SimpleThreadPoolTaskExecutor implements TaskExecutor, Configurable
      */
     @Override
     public void execute(@NotNull Task task) {
+        execute(task, postingResumer);
+    }
+
+    private void execute(@NotNull Task task, @NotNull TaskInterceptorChain.Resumer resumer) {
+        if (task.getFuture().isDone()) {
+            return;
+        }
+        Task previous = executingTask.get();
         executingTask.set(task);
-        CompletableFuture<Object> future = task.getFuture();
-        if (future.isDone() || future.isCancelled() || future.isCompletedExceptionally()) {
+        List<TaskInterceptor> interceptors = chains.get(task.getConsumer().getClass());
+        if (interceptors.isEmpty()) {
+            try {
+                task.getConsumer().consume(task.getMessage(), task.getFuture());
+            } finally {
+                executingTask.set(previous);
+            }
             return;
         }
-        new TaskInterceptorChain(task, interceptors).next();
-        executingTask.remove();
+        TaskInterceptorChain chain = idleChain.get();
+        if (chain == null) {
+            chain = new TaskInterceptorChain(task, interceptors);
+        } else {
+            idleChain.set(null);
+            chain.reset(task, interceptors);
+        }
+        chain.resumeWith(resumer);
+        try {
+            chain.next();
+        } finally {
+            idleChain.set(chain.reset(null, null));
+            executingTask.set(previous);
+        }
     }
 
     /**
@@ -98,12 +247,15 @@ public class SimpleThreadPoolTaskExecutor implements TaskExecutor, Configurable
     }
 
     private Task packTask(@NotNull Message message, @NotNull MessageConsumer consumer, @Nullable Map<String, Object> state) {
-        Map<String, Object> executingTaskState = Option.of(executingTask.get()).map(Task::getState).getOrElse(HashMap::new);
-        state = Option.of(state).getOrElse(HashMap::new);
-        if (!executingTaskState.isEmpty() && !state.isEmpty()) {
-            executingTaskState.putAll(state);
+        Task parent = executingTask.get();
+        Map<String, Object> taskState = state;
+        if (parent != null) {
+            taskState = parent.getState();
+            if (state != null && !state.isEmpty()) {
+                taskState.putAll(state);
+            }
         }
-        return new SimpleTask(message, consumer, new HashMap<>(), executingTaskState, new CompletableFuture<>());
+        return new SimpleTask(message, consumer, null, taskState, new CompletableFuture<>());
     }
 
     /**
@@ -117,6 +269,54 @@ public class SimpleThreadPoolTaskExecutor implements TaskExecutor, Configurable
     public void configure(@NotNull ServiceRegistry serviceRegistry, @NotNull PropertyProvider propertyProvider) {
         if (interceptors == null) {
             interceptors = serviceRegistry.loadServices(TaskInterceptor.class);
+            chains = chainsOf(interceptors);
+        }
+        if (backgroundLane == null) {
+            backgroundLane = createBackgroundLane(propertyProvider);
+        }
+        if (ioLane == null) {
+            ioLane = createIoLane(propertyProvider);
         }
+        if (backgroundResumer == null) {
+            backgroundResumer = resumer(backgroundLane);
+            ioResumer = resumer(ioLane);
+        }
+    }
+
+    private static ClassValue<List<TaskInterceptor>> chainsOf(List<TaskInterceptor> interceptors) {
+        return new ClassValue<List<TaskInterceptor>>() {
+            @SuppressWarnings("unchecked")
+            @Override
+            protected List<TaskInterceptor> computeValue(Class<?> type) {
+                List<TaskInterceptor> applicable = new ArrayList<>(interceptors.size());
+                for (TaskInterceptor interceptor : interceptors) {
+                    if (interceptor.appliesTo((Class<? extends MessageConsumer>) type)) {
+                        applicable.add(interceptor);
+                    }
+                }
+                return applicable.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(applicable);
+            }
+        };
+    }
+
+    TaskLane createBackgroundLane(@NotNull PropertyProvider propertyProvider) {
+        int parallelism = getIntProperty(propertyProvider, PROP_BACKGROUND_PARALLELISM, Runtime.getRuntime().availableProcessors());
+        int capacity = getIntProperty(propertyProvider, PROP_BACKGROUND_CAPACITY, parallelism * DEFAULT_CAPACITY_PER_THREAD);
+        return TaskLane.workStealing("background", parallelism, capacity);
+    }
+
+    TaskLane createIoLane(@NotNull PropertyProvider propertyProvider) {
+        int threads = getIntProperty(propertyProvider, PROP_IO_THREADS, Math.max(16, Runtime.getRuntime().availableProcessors() * 4));
+        int capacity = getIntProperty(propertyProvider, PROP_IO_CAPACITY, threads * DEFAULT_CAPACITY_PER_THREAD);
+        boolean virtual = Option.of(propertyProvider.getProperty(PROP_IO_VIRTUAL)).map(Boolean::parseBoolean).getOrElse(true);
+        return (virtual ? TaskLane.virtual("io", capacity) : Option.<TaskLane>none())
+                .getOrElse(() -> TaskLane.fixed("io", threads, capacity));
+    }
+
+    static int getIntProperty(PropertyProvider propertyProvider, String key, int defaultValue) {
+        return Option.of(propertyProvider.getProperty(key))
+                .map(String::trim)
+                .map(Integer::parseInt)
+                .getOrElse(defaultValue);
     }
 }
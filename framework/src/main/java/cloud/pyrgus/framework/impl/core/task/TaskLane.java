@@ -0,0 +1,238 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Zhang Jiankun
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package cloud.pyrgus.framework.impl.core.task;
+
+import io.vavr.control.Option;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 任务通道, 包装一个执行器并限制其中尚未执行完毕的任务数量, 超出容量的任务将被拒绝而不是无限排队.<br/>
+ * 每个通道独立统计排队深度与延迟, 请参阅 {@link TaskLaneMetrics}.
+ *
+ * @author <a href="mailto:git@krun.dev">Jiankun-Zhang</a>
+ * @since 2026/10/17
+ */
+@Slf4j
+class TaskLane {
+
+    private final String name;
+
+    private final ExecutorService executorService;
+
+    private final int capacity;
+
+    private final boolean virtual;
+
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final AtomicInteger active = new AtomicInteger();
+
+    private final LongAdder completed = new LongAdder();
+
+    private final LongAdder rejected = new LongAdder();
+
+    private final LongAdder queueNanos = new LongAdder();
+
+    private final LongAdder executionNanos = new LongAdder();
+
+    private final AtomicLong maxQueueNanos = new AtomicLong();
+
+    TaskLane(@NotNull String name, @NotNull ExecutorService executorService, int capacity, boolean virtual) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException(String.format("任务通道 [ %s ] 的容量必须大于 0: %d", name, capacity));
+        }
+        this.name = name;
+        this.executorService = executorService;
+        this.capacity = capacity;
+        this.virtual = virtual;
+    }
+
+    /**
+     * 创建一个固定并行度的工作窃取任务通道, 工作线程数量不会随任务数量增长.
+     *
+     * @param name        通道名称, 同时作为线程名称前缀.
+     * @param parallelism 工作线程数量.
+     * @param capacity    通道容量.
+     * @return 任务通道实例.
+     */
+    static TaskLane workStealing(@NotNull String name, int parallelism, int capacity) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism, p -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            thread.setName("pyrgus-" + name + "-" + thread.getPoolIndex());
+            return thread;
+        }, null, true);
+        return new TaskLane(name, pool, capacity, false);
+    }
+
+    /**
+     * 创建一个固定线程数量的任务通道, 适用于会阻塞线程的任务.
+     *
+     * @param name     通道名称, 同时作为线程名称前缀.
+     * @param threads  线程数量.
+     * @param capacity 通道容量.
+     * @return 任务通道实例.
+     */
+    static TaskLane fixed(@NotNull String name, int threads, int capacity) {
+        AtomicInteger index = new AtomicInteger();
+        ExecutorService executorService = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "pyrgus-" + name + "-" + index.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        ((ThreadPoolExecutor) executorService).allowCoreThreadTimeOut(true);
+        return new TaskLane(name, executorService, capacity, false);
+    }
+
+    /**
+     * 创建一个为每个任务启动一个虚拟线程的任务通道.
+     *
+     * @param name     通道名称.
+     * @param capacity 通道容量.
+     * @return 当前运行时支持虚拟线程时返回任务通道实例, 否则返回 {@link Option#none()}.
+     */
+    static Option<TaskLane> virtual(@NotNull String name, int capacity) {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return Option.some(new TaskLane(name, (ExecutorService) factory.invoke(null), capacity, true));
+        } catch (NoSuchMethodException e) {
+            return Option.none();
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log.warn("virtual threads are not available for lane [ {} ]: {}", name, e.toString());
+            return Option.none();
+        }
+    }
+
+    /**
+     * 尝试将任务放入此通道.
+     *
+     * @param runnable 需要执行的任务.
+     * @return 通道已满时返回 {@code false}.
+     */
+    boolean offer(@NotNull Runnable runnable) {
+        if (pending.incrementAndGet() > capacity) {
+            pending.decrementAndGet();
+            rejected.increment();
+            return false;
+        }
+        long enqueuedAt = System.nanoTime();
+        queued.incrementAndGet();
+        try {
+            executorService.execute(() -> run(runnable, enqueuedAt));
+        } catch (RuntimeException e) {
+            queued.decrementAndGet();
+            pending.decrementAndGet();
+            rejected.increment();
+            throw e;
+        }
+        return true;
+    }
+
+    /**
+     * 尝试将一批任务放入此通道, 整批任务只占用一次提交, 由执行线程将其分发至通道中的其他线程.
+     *
+     * @param runnables 需要执行的任务.
+     * @return 通道剩余容量不足以容纳整批任务时返回 {@code false}, 此时没有任何任务被放入通道.
+     */
+    boolean offerAll(@NotNull List<Runnable> runnables) {
+        int size = runnables.size();
+        if (size == 0) {
+            return true;
+        }
+        if (pending.addAndGet(size) > capacity) {
+            pending.addAndGet(-size);
+            rejected.add(size);
+            return false;
+        }
+        long enqueuedAt = System.nanoTime();
+        queued.addAndGet(size);
+        try {
+            executorService.execute(() -> {
+                for (int i = 1; i < size; i++) {
+                    Runnable runnable = runnables.get(i);
+                    try {
+                        executorService.execute(() -> run(runnable, enqueuedAt));
+                    } catch (RejectedExecutionException e) {
+                        run(runnable, enqueuedAt);
+                    }
+                }
+                run(runnables.get(0), enqueuedAt);
+            });
+        } catch (RuntimeException e) {
+            queued.addAndGet(-size);
+            pending.addAndGet(-size);
+            rejected.add(size);
+            throw e;
+        }
+        return true;
+    }
+
+    private void run(Runnable runnable, long enqueuedAt) {
+        long startedAt = System.nanoTime();
+        long waited = startedAt - enqueuedAt;
+        queued.decrementAndGet();
+        active.incrementAndGet();
+        queueNanos.add(waited);
+        maxQueueNanos.accumulateAndGet(waited, Math::max);
+        try {
+            runnable.run();
+        } finally {
+            executionNanos.add(System.nanoTime() - startedAt);
+            completed.increment();
+            active.decrementAndGet();
+            pending.decrementAndGet();
+        }
+    }
+
+    @NotNull
+    String getName() {
+        return name;
+    }
+
+    boolean isVirtual() {
+        return virtual;
+    }
+
+    /**
+     * 获取此通道当前的统计数据快照.
+     *
+     * @return 统计数据.
+     */
+    @NotNull
+    TaskLaneMetrics metrics() {
+        return new TaskLaneMetrics(name, virtual, capacity, queued.get(), active.get(), completed.sum(), rejected.sum(),
+                queueNanos.sum(), maxQueueNanos.get(), executionNanos.sum());
+    }
+
+}
@@ -0,0 +1,107 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Zhang Jiankun
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package cloud.pyrgus.framework.impl.core.task;
+
+import lombok.Value;
+
+/**
+ * 任务通道的统计数据快照, 各项数据分别读取, 因此彼此之间不保证严格一致.
+ *
+ * @author <a href="mailto:git@krun.dev">Jiankun-Zhang</a>
+ * @since 2026/10/17
+ */
+@Value
+public class TaskLaneMetrics {
+
+    /**
+     * 通道名称.
+     */
+    String name;
+
+    /**
+     * 是否使用虚拟线程执行任务.
+     */
+    boolean virtual;
+
+    /**
+     * 尚未执行完毕的任务数量上限.
+     */
+    int capacity;
+
+    /**
+     * 正在排队等待执行的任务数量.
+     */
+    int queued;
+
+    /**
+     * 正在执行的任务数量.
+     */
+    int active;
+
+    /**
+     * 已执行完毕的任务数量.
+     */
+    long completed;
+
+    /**
+     * 因通道已满而被拒绝的任务数量.
+     */
+    long rejected;
+
+    /**
+     * 已开始执行的任务的累计排队时间 (纳秒).
+     */
+    long totalQueueNanos;
+
+    /**
+     * 单个任务的最长排队时间 (纳秒).
+     */
+    long maxQueueNanos;
+
+    /**
+     * 已执行完毕的任务的累计执行时间 (纳秒).
+     */
+    long totalExecutionNanos;
+
+    /**
+     * 平均排队时间 (纳秒).
+     *
+     * @return 尚无任务开始执行时返回 {@code 0}.
+     */
+    public long getAverageQueueNanos() {
+        long started = completed + active;
+        return started == 0 ? 0 : totalQueueNanos / started;
+    }
+
+    /**
+     * 平均执行时间 (纳秒).
+     *
+     * @return 尚无任务执行完毕时返回 {@code 0}.
+     */
+    public long getAverageExecutionNanos() {
+        return completed == 0 ? 0 : totalExecutionNanos / completed;
+    }
+
+}
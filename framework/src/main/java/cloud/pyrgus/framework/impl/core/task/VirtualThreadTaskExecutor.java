@@ -0,0 +1,68 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Zhang Jiankun
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package cloud.pyrgus.framework.impl.core.task;
+
+import cloud.pyrgus.framework.core.service.Alternative;
+import cloud.pyrgus.framework.core.service.PropertyProvider;
+import cloud.pyrgus.framework.core.task.Mode;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 为每个 {@link Mode#Background} 与 {@link Mode#IO} 任务启动一个虚拟线程的执行器, 适用于消费者普遍会阻塞 (数据库、HTTP 调用等) 的场景,
+ * 大量阻塞任务只占用少量载体线程, 不会因线程池大小限制吞吐.<br/>
+ * 这是一个 {@link Alternative} 实现, 需要通过以下系统属性显式启用:
+ * <pre>
+ * -Dcloud.pyrgus.framework.core.task.TaskExecutor=cloud.pyrgus.framework.impl.core.task.VirtualThreadTaskExecutor
+ * </pre>
+ * 运行时不支持虚拟线程时退化为 {@link SimpleThreadPoolTaskExecutor} 的行为.<br/>
+ * 可通过 {@link PropertyProvider} 配置 {@value #PROP_VIRTUAL_CAPACITY}: 每个通道中尚未执行完毕的任务数量上限, 默认为 {@value #DEFAULT_VIRTUAL_CAPACITY}.
+ *
+ * @author <a href="mailto:git@krun.dev">Jiankun-Zhang</a>
+ * @since 2026/10/17
+ */
+@Slf4j
+@Alternative
+public class VirtualThreadTaskExecutor extends SimpleThreadPoolTaskExecutor {
+
+    public static final String PROP_VIRTUAL_CAPACITY = "pyrgus.task.executor.virtual.capacity";
+
+    private static final int DEFAULT_VIRTUAL_CAPACITY = 65536;
+
+    @Override
+    TaskLane createBackgroundLane(@NotNull PropertyProvider propertyProvider) {
+        return TaskLane.virtual("background", getIntProperty(propertyProvider, PROP_VIRTUAL_CAPACITY, DEFAULT_VIRTUAL_CAPACITY))
+                .getOrElse(() -> {
+                    log.warn("virtual threads are not supported by this runtime, fall back to platform threads.");
+                    return super.createBackgroundLane(propertyProvider);
+                });
+    }
+
+    @Override
+    TaskLane createIoLane(@NotNull PropertyProvider propertyProvider) {
+        return TaskLane.virtual("io", getIntProperty(propertyProvider, PROP_VIRTUAL_CAPACITY, DEFAULT_VIRTUAL_CAPACITY))
+                .getOrElse(() -> super.createIoLane(propertyProvider));
+    }
+}
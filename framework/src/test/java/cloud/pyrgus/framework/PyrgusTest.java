@@ -24,15 +24,35 @@
 
 package cloud.pyrgus.framework;
 
+import cloud.pyrgus.framework.core.message.Message;
+import cloud.pyrgus.framework.core.message.MessagingGateway;
+import cloud.pyrgus.framework.core.message.consumer.MessageHandler;
 import cloud.pyrgus.framework.core.service.Service;
+import cloud.pyrgus.framework.core.service.StartupReport;
+import cloud.pyrgus.framework.core.task.Mode;
+import cloud.pyrgus.framework.core.task.TaskExecutor;
 import cloud.pyrgus.framework.exception.PyrgusAlreadyConfiguredException;
+import cloud.pyrgus.framework.impl.core.message.NamedMessageDispatcher;
 import cloud.pyrgus.framework.impl.core.service.PropertiesProvider;
+import cloud.pyrgus.framework.impl.core.service.ServiceBootstrap;
+import cloud.pyrgus.framework.impl.core.service.SimpleServiceRegistry;
+import lombok.SneakyThrows;
+import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -100,10 +120,109 @@ class PyrgusTest {
                 .doesNotThrowAnyException();
     }
 
+    @Test
+    void should_report_startup_timings() {
+        Pyrgus pyrgus = Pyrgus.configure(this.getClass());
+        StartupReport report = pyrgus.getStartupReport();
+        assertThat(report.getPhases()).containsKeys("scan", "registry.select", "registry.instantiate", "registry.register");
+        assertThat(report.getServices())
+                .extracting(StartupReport.ServiceTiming::getType)
+                .contains(Foo1.class.getName());
+        assertThat(report.getTotalNanos()).isPositive().isEqualTo(pyrgus.getStartupReport().getTotalNanos());
+        assertThat(report.toString()).startsWith("total=").contains("scan=");
+    }
+
+    @Test
+    void should_report_custom_builder_as_single_phase() {
+        Pyrgus pyrgus = Pyrgus.configure(Configuration.builder()
+                .propertyProvider(new PropertiesProvider())
+                .serviceRegisterBuilder(() -> new SimpleServiceRegistry(Collections.singleton(Foo1.class)))
+                .build());
+        assertThat(pyrgus.getStartupReport().getPhases()).containsOnlyKeys("registry");
+    }
+
+    @SneakyThrows
+    @Test
+    void should_dispatch_to_annotated_handler() {
+        Pyrgus pyrgus = Pyrgus.configure(this.getClass());
+        CompletableFuture<String> future = pyrgus.loadService(MessagingGateway.class)
+                .apply("foo", Collections.singletonMap("name", "greet"), Mode.Posting);
+        assertThat(future).isCompletedWithValue("hello, foo");
+    }
+
+    @SneakyThrows
+    @Test
+    void should_only_instantiate_handler_services_when_discovering_lazily() {
+        Unrelated.instances.set(0);
+        Set<Class<? extends Service>> classes = new HashSet<>(Arrays.asList(NamedMessageDispatcher.class, Greeter.class, Unrelated.class));
+        Pyrgus pyrgus = Pyrgus.configure(Configuration.builder()
+                .propertyProvider(new PropertiesProvider())
+                .serviceRegisterBuilder(() -> new SimpleServiceRegistry(classes, ServiceBootstrap.Lazy))
+                .build());
+
+        NamedMessageDispatcher dispatcher = pyrgus.loadService(NamedMessageDispatcher.class);
+        Message message = new Message() {
+            @Override
+            public @NotNull Map<String, Object> getHeaders() {
+                return Collections.singletonMap("name", "greet");
+            }
+
+            @Override
+            public @NotNull Object getPayload() {
+                return "foo";
+            }
+        };
+        assertThat(dispatcher.dispatch(message, new CompletableFuture<>())).isNotNull();
+        assertThat(Unrelated.instances).hasValue(0);
+    }
+
+    @SneakyThrows
+    @Test
+    void should_flush_lingering_batch_in_io_lane() {
+        Pyrgus pyrgus = Pyrgus.configure(this.getClass());
+        CompletableFuture<String> future = pyrgus.loadService(MessagingGateway.class)
+                .apply("foo", Collections.singletonMap("name", "greetAll"), Mode.Posting);
+        assertThat(future).succeedsWithin(5, TimeUnit.SECONDS).isEqualTo("hello, foo");
+        assertThat(BatchGreeter.thread).startsWith("pyrgus-io-");
+        assertThat(BatchGreeter.executing).isTrue();
+    }
+
     interface Foo extends Service {
     }
 
     public static class Foo1 implements Foo {
     }
 
+    public static class Unrelated implements Service {
+
+        static final AtomicInteger instances = new AtomicInteger();
+
+        public Unrelated() {
+            instances.incrementAndGet();
+        }
+    }
+
+    public static class BatchGreeter implements Service {
+
+        static volatile String thread = null;
+
+        static volatile boolean executing = false;
+
+        @SneakyThrows
+        @MessageHandler(value = "greetAll", maxBatchSize = 16, lingerMillis = 10)
+        public List<String> greetAll(List<String> names) {
+            thread = Thread.currentThread().getName();
+            executing = Pyrgus.getInstance().loadService(TaskExecutor.class).executingTask().isDefined();
+            return names.stream().map(name -> "hello, " + name).collect(Collectors.toList());
+        }
+    }
+
+    public static class Greeter implements Service {
+
+        @MessageHandler("greet")
+        public String greet(String name) {
+            return "hello, " + name;
+        }
+    }
+
 }
\ No newline at end of file
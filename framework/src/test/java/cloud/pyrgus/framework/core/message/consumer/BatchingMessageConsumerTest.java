@@ -0,0 +1,144 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Zhang Jiankun
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package cloud.pyrgus.framework.core.message.consumer;
+
+import cloud.pyrgus.framework.core.message.Message;
+import cloud.pyrgus.framework.core.message.MessageConsumer;
+import lombok.SneakyThrows;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author <a href="mailto:git@krun.dev">Jiankun-Zhang</a>
+ * @since 2026/10/17
+ */
+class BatchingMessageConsumerTest {
+
+    private static Message message(Object payload) {
+        return new Message() {
+            @Override
+            public @NotNull Map<String, Object> getHeaders() {
+                return Collections.emptyMap();
+            }
+
+            @Override
+            public @NotNull Object getPayload() {
+                return payload;
+            }
+        };
+    }
+
+    @SneakyThrows
+    @Test
+    void should_flush_when_batch_is_full() {
+        Repository repository = new Repository();
+        MessageConsumer consumer = LocalMethodMessageConsumer.batching(repository,
+                Repository.class.getDeclaredMethod("saveAll", List.class), 2, TimeUnit.MINUTES.toMillis(1));
+
+        CompletableFuture<Object> first = new CompletableFuture<>();
+        CompletableFuture<Object> second = new CompletableFuture<>();
+        consumer.consume(message("foo"), first);
+        assertThat(first).isNotDone();
+        consumer.consume(message("bar"), second);
+
+        assertThat(first).isCompletedWithValue("FOO");
+        assertThat(second).isCompletedWithValue("BAR");
+        assertThat(repository.batches).isEqualTo(1);
+    }
+
+    @SneakyThrows
+    @Test
+    void should_flush_when_linger_elapsed() {
+        Repository repository = new Repository();
+        MessageConsumer consumer = LocalMethodMessageConsumer.batching(repository,
+                Repository.class.getDeclaredMethod("count", List.class), 100, 200);
+
+        CompletableFuture<Object> first = new CompletableFuture<>();
+        CompletableFuture<Object> second = new CompletableFuture<>();
+        consumer.consume(message("foo"), first);
+        consumer.consume(message("bar"), second);
+
+        assertThat(first).succeedsWithin(5, TimeUnit.SECONDS).isEqualTo(2);
+        assertThat(second).succeedsWithin(5, TimeUnit.SECONDS).isEqualTo(2);
+        assertThat(repository.thread).doesNotStartWith("pyrgus-batch-linger-");
+    }
+
+    @SneakyThrows
+    @Test
+    void should_fail_every_message_when_handler_throws() {
+        MessageConsumer consumer = LocalMethodMessageConsumer.batching(new Repository(),
+                Repository.class.getDeclaredMethod("fail", List.class), 2, TimeUnit.MINUTES.toMillis(1));
+
+        CompletableFuture<Object> first = new CompletableFuture<>();
+        CompletableFuture<Object> second = new CompletableFuture<>();
+        consumer.consume(message("foo"), first);
+        consumer.consume(message("bar"), second);
+
+        assertThat(first).isCompletedExceptionally();
+        assertThat(second).isCompletedExceptionally();
+    }
+
+    @SneakyThrows
+    @Test
+    void should_reject_method_without_list_parameter() {
+        assertThatThrownBy(() -> LocalMethodMessageConsumer.batching(new Repository(),
+                Repository.class.getDeclaredMethod("save", String.class), 2, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    public static class Repository {
+
+        int batches = 0;
+
+        volatile String thread = null;
+
+        public List<String> saveAll(List<String> payloads) {
+            batches++;
+            return payloads.stream().map(String::toUpperCase).collect(Collectors.toList());
+        }
+
+        public int count(List<String> payloads) {
+            thread = Thread.currentThread().getName();
+            return payloads.size();
+        }
+
+        public void fail(List<String> payloads) {
+            throw new IllegalStateException("failed");
+        }
+
+        public void save(String payload) {
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Zhang Jiankun
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package cloud.pyrgus.framework.core.message.consumer;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author <a href="mailto:git@krun.dev">Jiankun-Zhang</a>
+ * @since 2026/10/17
+ */
+class LocalMethodInvokerTest {
+
+    @SneakyThrows
+    @Test
+    void should_reuse_compiled_invoker() {
+        Method method = Foo.class.getDeclaredMethod("concat", String.class, String.class);
+        assertThat(LocalMethodInvoker.of(method)).isSameAs(LocalMethodInvoker.of(method));
+    }
+
+    @SneakyThrows
+    @Test
+    void should_invoke_instance_method() {
+        LocalMethodInvoker invoker = LocalMethodInvoker.of(Foo.class.getDeclaredMethod("concat", String.class, String.class));
+        assertThat(invoker.invoke(new Foo(), new Object[]{"foo", "bar"})).isEqualTo("foobar");
+    }
+
+    @SneakyThrows
+    @Test
+    void should_invoke_static_and_void_method() {
+        LocalMethodInvoker sum = LocalMethodInvoker.of(Foo.class.getDeclaredMethod("sum", int.class, int.class));
+        assertThat(sum.invoke(null, new Object[]{1, 2})).isEqualTo(3);
+
+        LocalMethodInvoker nothing = LocalMethodInvoker.of(Foo.class.getDeclaredMethod("nothing"));
+        assertThat(nothing.invoke(new Foo(), new Object[0])).isNull();
+    }
+
+    @SneakyThrows
+    @Test
+    void should_invoke_public_method() {
+        LocalMethodInvoker concat = LocalMethodInvoker.of(Bar.class.getMethod("concat", String.class, int.class));
+        assertThat(concat.invoke(new Bar(), new Object[]{"foo", 1})).isEqualTo("foo1");
+
+        LocalMethodInvoker sum = LocalMethodInvoker.of(Bar.class.getMethod("sum", int.class, int.class));
+        assertThat(sum.invoke(null, new Object[]{1, 2})).isEqualTo(3);
+
+        Bar bar = new Bar();
+        LocalMethodInvoker touch = LocalMethodInvoker.of(Bar.class.getMethod("touch", String.class));
+        assertThat(touch.invoke(bar, new Object[]{"foo"})).isNull();
+        assertThat(bar.touched).isEqualTo("foo");
+    }
+
+    @SneakyThrows
+    @Test
+    void should_throw_target_exception_directly() {
+        LocalMethodInvoker invoker = LocalMethodInvoker.of(Foo.class.getDeclaredMethod("fail"));
+        assertThatThrownBy(() -> invoker.invoke(new Foo(), new Object[0]))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("foo");
+    }
+
+    static class Foo {
+        private static int sum(int a, int b) {
+            return a + b;
+        }
+
+        String concat(String a, String b) {
+            return a + b;
+        }
+
+        void nothing() {
+        }
+
+        void fail() {
+            throw new IllegalStateException("foo");
+        }
+    }
+
+    public static class Bar {
+        String touched;
+
+        public static int sum(int a, int b) {
+            return a + b;
+        }
+
+        public String concat(String a, int b) {
+            return a + b;
+        }
+
+        public void touch(String value) {
+            touched = value;
+        }
+    }
+
+}
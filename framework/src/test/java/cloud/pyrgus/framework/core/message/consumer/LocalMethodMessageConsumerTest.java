@@ -0,0 +1,136 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Zhang Jiankun
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package cloud.pyrgus.framework.core.message.consumer;
+
+import cloud.pyrgus.framework.core.message.Message;
+import cloud.pyrgus.framework.core.message.MessageConsumer;
+import lombok.SneakyThrows;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author <a href="mailto:git@krun.dev">Jiankun-Zhang</a>
+ * @since 2026/10/17
+ */
+class LocalMethodMessageConsumerTest {
+
+    private static final Message MESSAGE = new Message() {
+        @Override
+        public @NotNull Map<String, Object> getHeaders() {
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public @NotNull Object getPayload() {
+            return "foo";
+        }
+    };
+
+    @SneakyThrows
+    @Test
+    void should_bind_consumer_to_method() {
+        Handlers handlers = new Handlers();
+        LocalMethodMessageConsumer consumer = LocalMethodMessageConsumer.of(handlers, Handlers.class.getDeclaredMethod("greet", String.class));
+        assertThat(consumer.getInvokeTarget()).isSameAs(handlers);
+        assertThat(consumer.matchMethod(MESSAGE)).isEqualTo(Handlers.class.getDeclaredMethod("greet", String.class));
+    }
+
+    @SneakyThrows
+    @Test
+    void should_discover_annotated_methods() {
+        Map<String, MessageConsumer> handlers = LocalMethodMessageConsumer.handlersOf(new Handlers());
+        assertThat(handlers).containsOnlyKeys("greet", "farewell", "saveAll");
+        assertThat(((LocalMethodMessageConsumer) handlers.get("greet")).matchMethod(MESSAGE))
+                .isEqualTo(Handlers.class.getDeclaredMethod("greet", String.class));
+        assertThat(handlers.get("saveAll")).isInstanceOf(BatchingMessageConsumer.class);
+    }
+
+    @SneakyThrows
+    @Test
+    void should_prefer_overriding_method() {
+        Map<String, MessageConsumer> handlers = LocalMethodMessageConsumer.handlersOf(new LoudHandlers());
+        assertThat(handlers).containsOnlyKeys("greet", "farewell", "saveAll");
+        assertThat(((LocalMethodMessageConsumer) handlers.get("greet")).matchMethod(MESSAGE))
+                .isEqualTo(LoudHandlers.class.getDeclaredMethod("greet", String.class));
+    }
+
+    @Test
+    void should_throw_if_handler_names_conflict() {
+        assertThatThrownBy(() -> LocalMethodMessageConsumer.handlersOf(new ConflictingHandlers()))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    static class Handlers {
+
+        @MessageHandler("greet")
+        public String greet(String name) {
+            return "hello, " + name;
+        }
+
+        @MessageHandler
+        public String farewell(String name) {
+            return "bye, " + name;
+        }
+
+        @MessageHandler(maxBatchSize = 10, lingerMillis = 10)
+        public int saveAll(List<String> names) {
+            return names.size();
+        }
+
+        public String ignored(String name) {
+            return name;
+        }
+    }
+
+    static class LoudHandlers extends Handlers {
+
+        @Override
+        @MessageHandler("greet")
+        public String greet(String name) {
+            return "HELLO, " + name;
+        }
+    }
+
+    static class ConflictingHandlers {
+
+        @MessageHandler("greet")
+        public String greet(String name) {
+            return name;
+        }
+
+        @MessageHandler("greet")
+        public String greetAgain(String name) {
+            return name;
+        }
+    }
+
+}
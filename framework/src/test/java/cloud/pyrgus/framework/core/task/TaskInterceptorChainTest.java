@@ -0,0 +1,292 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Zhang Jiankun
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package cloud.pyrgus.framework.core.task;
+
+import cloud.pyrgus.framework.core.message.Message;
+import cloud.pyrgus.framework.core.message.MessageConsumer;
+import cloud.pyrgus.framework.impl.core.task.SimpleTask;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author <a href="mailto:git@krun.dev">Jiankun-Zhang</a>
+ * @since 2026/10/17
+ */
+class TaskInterceptorChainTest {
+
+    private final List<String> events = new ArrayList<>();
+
+    @Test
+    void should_run_before_after_interceptors_without_recursion() {
+        int depth = Thread.currentThread().getStackTrace().length;
+        int[] consumerDepth = new int[1];
+        Task task = task((message, future) -> {
+            consumerDepth[0] = Thread.currentThread().getStackTrace().length;
+            future.complete(message.getPayload());
+        });
+        List<TaskInterceptor> interceptors = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            interceptors.add(new Recording(String.valueOf(i), true));
+        }
+
+        new TaskInterceptorChain(task, interceptors).next();
+
+        assertThat(task.getFuture()).isCompletedWithValue("foo");
+        assertThat(consumerDepth[0] - depth).isLessThan(10);
+        assertThat(events).hasSize(40).startsWith("before 0", "before 1").endsWith("after 1", "after 0");
+    }
+
+    @Test
+    void should_nest_before_after_interceptors_within_around_interceptors() {
+        Task task = task((message, future) -> {
+            events.add("consume");
+            future.complete(message.getPayload());
+        });
+        TaskInterceptor around = (t, chain) -> {
+            events.add("around in");
+            chain.next();
+            events.add("around out");
+        };
+
+        new TaskInterceptorChain(task, Arrays.asList(new Recording("a", true), around, new Recording("b", true))).next();
+
+        assertThat(events).containsExactly("before a", "around in", "before b", "consume", "after b", "around out", "after a");
+    }
+
+    @Test
+    void should_only_unwind_entered_interceptors_when_interrupted() {
+        Task task = task((message, future) -> events.add("consume"));
+
+        new TaskInterceptorChain(task, Arrays.asList(new Recording("a", true), new Recording("b", false), new Recording("c", true))).next();
+
+        assertThat(events).containsExactly("before a", "before b", "after a");
+    }
+
+    @Test
+    void should_run_every_after_when_consumer_fails() {
+        Task task = task((message, future) -> {
+            throw new IllegalStateException("foo");
+        });
+        Recording failing = new Recording("b", true) {
+            @Override
+            public void after(Task task, Throwable error) {
+                super.after(task, error);
+                throw new IllegalArgumentException("bar");
+            }
+        };
+
+        assertThatThrownBy(() -> new TaskInterceptorChain(task, Arrays.asList(new Recording("a", true), failing)).next())
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("bar");
+        assertThat(events).containsExactly("before a", "before b", "after b foo", "after a bar");
+    }
+
+    @Test
+    void should_reclassify_interceptors_when_reset_with_another_list() {
+        Task task = task((message, future) -> events.add("consume"));
+        TaskInterceptor around = (t, chain) -> {
+            events.add("around");
+            chain.next();
+        };
+        List<TaskInterceptor> first = Collections.singletonList(new Recording("a", true));
+        List<TaskInterceptor> second = Collections.singletonList(around);
+        TaskInterceptorChain chain = new TaskInterceptorChain(task, first);
+
+        chain.next();
+        chain.reset(null, null).reset(task, second).next();
+        chain.reset(task, first).next();
+
+        assertThat(events).containsExactly("before a", "consume", "after a", "around", "consume", "before a", "consume", "after a");
+    }
+
+    @Test
+    void should_suspend_on_pending_async_interceptor_and_release_chain() {
+        CompletableFuture<Boolean> gate = new CompletableFuture<>();
+        Task first = task((message, future) -> {
+            events.add("consume first");
+            future.complete(message.getPayload());
+        });
+        Task second = task((message, future) -> events.add("consume second"));
+        List<TaskInterceptor> interceptors = Arrays.asList(new Recording("a", true), new Async(gate), new Recording("b", true));
+        TaskInterceptorChain chain = new TaskInterceptorChain(first, interceptors);
+
+        chain.next();
+        assertThat(events).containsExactly("before a", "async");
+        assertThat(first.getFuture()).isNotDone();
+
+        events.clear();
+        chain.reset(second, interceptors);
+        gate.complete(true);
+        assertThat(events).containsExactly("before b", "consume first", "after b", "after a");
+        assertThat(first.getFuture()).isCompletedWithValue("foo");
+    }
+
+    @Test
+    void should_complete_task_when_resumed_consumer_fails() {
+        CompletableFuture<Boolean> gate = new CompletableFuture<>();
+        Task task = task((message, future) -> {
+            throw new IllegalStateException("foo");
+        });
+
+        new TaskInterceptorChain(task, Arrays.asList(new Recording("a", true), new Async(gate))).next();
+        gate.complete(true);
+
+        assertThatThrownBy(() -> task.getFuture().join()).hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(events).containsExactly("before a", "async", "after a foo");
+    }
+
+    @Test
+    void should_run_deferred_after_when_async_interceptor_interrupts() {
+        CompletableFuture<Boolean> gate = new CompletableFuture<>();
+        Task task = task((message, future) -> events.add("consume"));
+
+        new TaskInterceptorChain(task, Arrays.asList(new Recording("a", true), new Async(gate), new Recording("b", true))).next();
+        assertThat(events).containsExactly("before a", "async");
+        gate.complete(false);
+
+        assertThat(events).containsExactly("before a", "async", "after a");
+    }
+
+    @Test
+    void should_continue_in_place_when_async_interceptor_already_completed() {
+        Task task = task((message, future) -> events.add("consume"));
+        List<Runnable> resumed = new ArrayList<>();
+
+        new TaskInterceptorChain(task, Collections.singletonList(new Async(CompletableFuture.completedFuture(true))))
+                .resumeWith((t, continuation) -> resumed.add(continuation))
+                .next();
+
+        assertThat(events).containsExactly("async", "consume");
+        assertThat(resumed).isEmpty();
+    }
+
+    @Test
+    void should_resume_with_given_resumer() {
+        CompletableFuture<Boolean> gate = new CompletableFuture<>();
+        Task task = task((message, future) -> events.add("consume"));
+        List<Runnable> resumed = new ArrayList<>();
+
+        new TaskInterceptorChain(task, Collections.singletonList(new Async(gate)))
+                .resumeWith((t, continuation) -> resumed.add(continuation))
+                .next();
+        gate.complete(true);
+
+        assertThat(events).containsExactly("async");
+        assertThat(resumed).hasSize(1);
+        resumed.get(0).run();
+        assertThat(events).containsExactly("async", "consume");
+    }
+
+    @Test
+    void should_complete_task_when_async_interceptor_fails_or_interrupts() {
+        CompletableFuture<Boolean> failing = new CompletableFuture<>();
+        Task failed = task((message, future) -> events.add("consume"));
+        new TaskInterceptorChain(failed, Collections.singletonList(new Async(failing.thenApply(proceed -> proceed)))).next();
+        failing.completeExceptionally(new IllegalStateException("foo"));
+
+        assertThatThrownBy(() -> failed.getFuture().join()).hasCauseInstanceOf(IllegalStateException.class);
+
+        Task interrupted = task((message, future) -> events.add("consume"));
+        new TaskInterceptorChain(interrupted, Collections.singletonList(new Async(CompletableFuture.completedFuture(false)))).next();
+
+        assertThat(interrupted.getFuture()).isNotDone();
+        assertThat(events).containsExactly("async", "async");
+    }
+
+    @Test
+    void should_run_as_around_interceptor_by_default() {
+        Task task = task((message, future) -> events.add("consume"));
+        Recording recording = new Recording("a", true);
+
+        recording.intercept(task, new TaskInterceptorChain(task, Collections.emptyList()));
+
+        assertThat(events).containsExactly("before a", "consume", "after a");
+    }
+
+    private static Task task(MessageConsumer consumer) {
+        Message message = new Message() {
+            @Override
+            public @NotNull Map<String, Object> getHeaders() {
+                return Collections.emptyMap();
+            }
+
+            @Override
+            public @NotNull Object getPayload() {
+                return "foo";
+            }
+        };
+        return new SimpleTask(message, consumer, null, null, new CompletableFuture<>());
+    }
+
+    private class Async implements AsyncTaskInterceptor {
+
+        private final CompletionStage<Boolean> stage;
+
+        private Async(CompletionStage<Boolean> stage) {
+            this.stage = stage;
+        }
+
+        @Override
+        public @NotNull CompletionStage<Boolean> beforeAsync(@NotNull Task task) {
+            events.add("async");
+            return stage;
+        }
+    }
+
+    private class Recording implements BeforeAfterTaskInterceptor {
+
+        private final String name;
+
+        private final boolean proceed;
+
+        private Recording(String name, boolean proceed) {
+            this.name = name;
+            this.proceed = proceed;
+        }
+
+        @Override
+        public boolean before(Task task) {
+            events.add("before " + name);
+            return proceed;
+        }
+
+        @Override
+        public void after(Task task, Throwable error) {
+            events.add(error == null ? "after " + name : "after " + name + " " + error.getMessage());
+        }
+    }
+
+}
@@ -69,6 +69,14 @@ class LocalMethodArgumentResolveInterceptorTest {
         assertThat(task.getContext()).isEmpty();
     }
 
+    @Test
+    void should_only_apply_to_local_method_consumer() {
+        LocalMethodArgumentResolveInterceptor interceptor = new LocalMethodArgumentResolveInterceptor();
+
+        assertThat(interceptor.appliesTo(getActionTask(false).getConsumer().getClass())).isFalse();
+        assertThat(interceptor.appliesTo(getActionTask(true).getConsumer().getClass())).isTrue();
+    }
+
     @Test
     void should_resolve_arguments() {
         LocalMethodArgumentResolveInterceptor interceptor = new LocalMethodArgumentResolveInterceptor();
@@ -90,6 +98,45 @@ class LocalMethodArgumentResolveInterceptorTest {
         Object[] args = (Object[]) task.getContext().get(LocalMethodArgumentResolveInterceptor.CTX_KEY_ARGS);
         assertThat(args[0]).isInstanceOf(Foo.class);
         assertThat(args[1]).isInstanceOf(String.class).isEqualTo("bar");
+        assertThat(task.getContext().get(LocalMethodArgumentResolveInterceptor.CTX_KEY_METHOD)).isInstanceOf(Method.class);
+    }
+
+    @SneakyThrows
+    @Test
+    void should_fail_when_parameter_unsupported() {
+        LocalMethodArgumentResolveInterceptor interceptor = new LocalMethodArgumentResolveInterceptor();
+
+        TaskInterceptorChain chain = mock(TaskInterceptorChain.class);
+
+        ServiceRegistry registry = mock(ServiceRegistry.class);
+        when(registry.loadServices(any())).thenReturn(Arrays.asList(new MessagePayloadArgumentResolver(), new TaskStateArgumentResolver()));
+
+        interceptor.configure(registry, mock(PropertyProvider.class));
+
+        Method method = Bar.class.getDeclaredMethod("unsupported", Foo.class, Integer.class);
+        for (int i = 0; i < 2; i++) {
+            ActionTask task = new ActionTask(getActionMessage(), getConsumer(method), new HashMap<>(), new HashMap<>(), new CompletableFuture<>());
+            interceptor.intercept(task, chain);
+
+            assertThat(task.getFuture()).isCompletedExceptionally();
+            assertThat(task.getContext()).isEmpty();
+        }
+        verify(chain, never()).next();
+    }
+
+    @NotNull
+    private LocalMethodMessageConsumer getConsumer(Method method) {
+        return new LocalMethodMessageConsumer() {
+            @Override
+            public @NotNull Object getInvokeTarget() {
+                return new Bar();
+            }
+
+            @Override
+            public @NotNull Method matchMethod(@NotNull Message message) {
+                return method;
+            }
+        };
     }
 
     @NotNull
@@ -124,5 +171,8 @@ class LocalMethodArgumentResolveInterceptorTest {
     static class Bar {
         void handle(Foo foo, @TaskState(name = "foo") String state) {
         }
+
+        void unsupported(Foo foo, Integer integer) {
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,69 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Zhang Jiankun
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package cloud.pyrgus.framework.impl.core.message;
+
+import cloud.pyrgus.framework.core.message.Message;
+import cloud.pyrgus.framework.core.message.MessageConsumer;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author <a href="mailto:git@krun.dev">Jiankun-Zhang</a>
+ * @since 2026/10/17
+ */
+class AdmissionControlTest {
+
+    private static MessageConsumer consumer() {
+        return (message, future) -> future.complete(message.getPayload());
+    }
+
+    @Test
+    void should_limit_distinct_consumer_instances_by_name() {
+        AdmissionControl admission = new AdmissionControl(0, 1, AdmissionPolicy.Reject, 0);
+        Message foo = new SimpleMessage(Collections.singletonMap("name", "foo"), "foo");
+        Message bar = new SimpleMessage(Collections.singletonMap("name", "bar"), "bar");
+
+        assertThat(admission.acquire(foo, consumer())).isTrue();
+        assertThat(admission.acquire(foo, consumer())).isFalse();
+        assertThat(admission.acquire(bar, consumer())).isTrue();
+
+        admission.release(foo, consumer());
+        assertThat(admission.acquire(foo, consumer())).isTrue();
+    }
+
+    @Test
+    void should_limit_unnamed_consumer_instances_by_type() {
+        AdmissionControl admission = new AdmissionControl(0, 1, AdmissionPolicy.Reject, 0);
+        Message message = new SimpleMessage(Collections.emptyMap(), "foo");
+
+        for (int i = 0; i < 10000; i++) {
+            assertThat(admission.acquire(message, consumer())).isTrue();
+            assertThat(admission.acquire(message, consumer())).isFalse();
+            admission.release(message, consumer());
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Zhang Jiankun
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package cloud.pyrgus.framework.impl.core.message;
+
+import cloud.pyrgus.framework.core.message.Message;
+import cloud.pyrgus.framework.core.message.MessageFilter;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author <a href="mailto:git@krun.dev">Jiankun-Zhang</a>
+ * @since 2026/10/17
+ */
+class FilterPipelineTest {
+
+    private static final int SAMPLES = FilterPipeline.SAMPLE_INTERVAL * FilterPipeline.REORDER_INTERVAL;
+
+    private static final Message MESSAGE = new SimpleMessage(Collections.emptyMap(), "foo");
+
+    @Test
+    void should_skip_filters_not_applying_to_consumer() {
+        NamedFilter accept = new NamedFilter("accept", true, "foo");
+        NamedFilter reject = new NamedFilter("reject", false, "bar");
+
+        assertThat(FilterPipeline.of("foo", Arrays.asList(accept, reject), true).test(MESSAGE)).isTrue();
+        assertThat(FilterPipeline.of("bar", Arrays.asList(accept, reject), true).test(MESSAGE)).isFalse();
+        assertThat(FilterPipeline.of("baz", Arrays.asList(accept, reject), true)).isSameAs(FilterPipeline.EMPTY);
+        assertThat(FilterPipeline.of("baz", null, true).test(MESSAGE)).isTrue();
+    }
+
+    @Test
+    void should_move_rejecting_filter_first() {
+        NamedFilter accept = new NamedFilter("accept", true, null);
+        NamedFilter reject = new NamedFilter("reject", false, null);
+        FilterPipeline pipeline = FilterPipeline.of("foo", Arrays.asList(accept, reject), true);
+
+        for (int i = 0; i < 2 * SAMPLES; i++) {
+            assertThat(pipeline.test(MESSAGE)).isFalse();
+        }
+
+        List<FilterStatistics> statistics = pipeline.statistics();
+        assertThat(statistics).extracting(FilterStatistics::getFilter).containsExactly("reject", "accept");
+        assertThat(statistics.get(0).getSelectivity()).isEqualTo(1);
+        assertThat(statistics.get(1).getRejections()).isZero();
+        assertThat(accept.evaluations).isEqualTo(SAMPLES);
+    }
+
+    @Test
+    void should_keep_order_when_not_adaptive() {
+        NamedFilter accept = new NamedFilter("accept", true, null);
+        NamedFilter reject = new NamedFilter("reject", false, null);
+        FilterPipeline pipeline = FilterPipeline.of("foo", Arrays.asList(accept, reject), false);
+
+        for (int i = 0; i < SAMPLES; i++) {
+            assertThat(pipeline.test(MESSAGE)).isFalse();
+        }
+
+        assertThat(pipeline.statistics()).extracting(FilterStatistics::getFilter).containsExactly("accept", "reject");
+        assertThat(accept.evaluations).isEqualTo(SAMPLES);
+    }
+
+    @Test
+    void should_reorder_many_filters_while_statistics_change() throws Exception {
+        List<MessageFilter> filters = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            filters.add(message -> ThreadLocalRandom.current().nextInt(64) != 0);
+        }
+        FilterPipeline pipeline = FilterPipeline.of("foo", filters, true);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 4 * SAMPLES; i++) {
+                        pipeline.test(MESSAGE);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(pipeline.statistics()).hasSize(64);
+    }
+
+    static class NamedFilter implements MessageFilter {
+
+        private final String name;
+
+        private final boolean result;
+
+        private final String consumerName;
+
+        int evaluations = 0;
+
+        NamedFilter(String name, boolean result, String consumerName) {
+            this.name = name;
+            this.result = result;
+            this.consumerName = consumerName;
+        }
+
+        @Override
+        public boolean appliesTo(@NotNull String consumerName) {
+            return this.consumerName == null || this.consumerName.equals(consumerName);
+        }
+
+        @Override
+        public boolean test(Message message) {
+            evaluations++;
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+}
@@ -0,0 +1,208 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Zhang Jiankun
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package cloud.pyrgus.framework.impl.core.message;
+
+import cloud.pyrgus.framework.core.message.MessagingGateway;
+import cloud.pyrgus.framework.core.task.Mode;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author <a href="mailto:git@krun.dev">Jiankun-Zhang</a>
+ * @since 2026/10/17
+ */
+class MessagingProcessorTest {
+
+    private final FakeGateway gateway = new FakeGateway();
+
+    private final Upstream upstream = new Upstream();
+
+    private final Downstream downstream = new Downstream();
+
+    private final MessagingProcessor<Object> processor = new MessagingProcessor<>(gateway, Mode.Posting, 4);
+
+    @Test
+    void should_not_request_upstream_before_downstream_subscribes() {
+        processor.onSubscribe(upstream);
+        assertThat(upstream.requested).isZero();
+
+        processor.subscribe(downstream);
+        assertThat(upstream.requested).isEqualTo(4);
+    }
+
+    @Test
+    void should_bound_in_flight_messages_by_window() {
+        connect(Long.MAX_VALUE);
+        send(4);
+        assertThat(gateway.futures).hasSize(4);
+        assertThat(upstream.requested).isEqualTo(4);
+
+        gateway.futures.get(2).complete("c");
+        assertThat(downstream.items).containsExactly("c");
+        assertThat(upstream.requested).isEqualTo(5);
+    }
+
+    @Test
+    void should_stop_requesting_when_downstream_is_slow() {
+        connect(2);
+        for (int i = 0; i < 3; i++) {
+            send(upstream.requested - upstream.sent);
+            gateway.futures.forEach(future -> future.complete(gateway.futures.indexOf(future)));
+        }
+        assertThat(downstream.items).containsExactly(0, 1);
+        assertThat(upstream.requested).isEqualTo(6);
+        assertThat(upstream.sent).isEqualTo(6);
+
+        downstream.subscription.request(10);
+        assertThat(downstream.items).containsExactly(0, 1, 2, 3, 4, 5);
+        assertThat(upstream.requested).isEqualTo(10);
+    }
+
+    @Test
+    void should_complete_after_in_flight_messages_are_published() {
+        connect(Long.MAX_VALUE);
+        send(2);
+        processor.onComplete();
+        assertThat(downstream.completed).isFalse();
+
+        gateway.futures.get(0).complete(null);
+        gateway.futures.get(1).complete("b");
+        assertThat(downstream.items).containsExactly("b");
+        assertThat(downstream.completed).isTrue();
+    }
+
+    @Test
+    void should_cancel_upstream_when_message_fails() {
+        connect(Long.MAX_VALUE);
+        send(2);
+        gateway.futures.get(1).completeExceptionally(new IllegalStateException("foo"));
+
+        assertThat(downstream.error).isInstanceOf(IllegalStateException.class).hasMessage("foo");
+        assertThat(upstream.cancelled).isTrue();
+        gateway.futures.get(0).complete("a");
+        assertThat(downstream.items).isEmpty();
+    }
+
+    @Test
+    void should_accept_only_one_subscriber() {
+        connect(1);
+        Downstream another = new Downstream();
+        processor.subscribe(another);
+
+        assertThat(another.error).isInstanceOf(IllegalStateException.class);
+        assertThat(downstream.error).isNull();
+        assertThatThrownBy(() -> new MessagingProcessor<>(gateway, Mode.Posting, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void connect(long demand) {
+        processor.onSubscribe(upstream);
+        processor.subscribe(downstream);
+        downstream.subscription.request(demand);
+    }
+
+    private void send(long count) {
+        for (long i = 0; i < count; i++) {
+            assertThat(upstream.sent).isLessThan(upstream.requested);
+            upstream.sent++;
+            processor.onNext(new SimpleMessage(Collections.singletonMap("name", "foo"), upstream.sent));
+        }
+    }
+
+    static class FakeGateway implements MessagingGateway {
+
+        final List<CompletableFuture<Object>> futures = new ArrayList<>();
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public @NotNull <R> CompletableFuture<R> apply(@NotNull Object payload, @Nullable Map<String, Object> headers, @NotNull Mode mode) {
+            CompletableFuture<Object> future = new CompletableFuture<>();
+            futures.add(future);
+            return (CompletableFuture<R>) future;
+        }
+    }
+
+    static class Upstream implements Subscription {
+
+        long requested;
+
+        long sent;
+
+        boolean cancelled;
+
+        @Override
+        public void request(long n) {
+            requested += n;
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+
+    static class Downstream implements Subscriber<Object> {
+
+        final List<Object> items = new ArrayList<>();
+
+        Subscription subscription;
+
+        Throwable error;
+
+        boolean completed;
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(Object item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+
+}
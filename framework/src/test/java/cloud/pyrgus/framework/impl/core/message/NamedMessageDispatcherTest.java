@@ -27,7 +27,10 @@ package cloud.pyrgus.framework.impl.core.message;
 import cloud.pyrgus.framework.core.message.Message;
 import cloud.pyrgus.framework.core.message.MessageConsumer;
 import cloud.pyrgus.framework.core.message.MessageFilter;
+import cloud.pyrgus.framework.core.message.consumer.MessageHandler;
+import cloud.pyrgus.framework.core.service.Alternative;
 import cloud.pyrgus.framework.core.service.PropertyProvider;
+import cloud.pyrgus.framework.core.service.Service;
 import cloud.pyrgus.framework.core.service.ServiceRegistry;
 import lombok.SneakyThrows;
 import org.jetbrains.annotations.NotNull;
@@ -37,12 +40,19 @@ import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentMatchers;
 
 import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -92,7 +102,7 @@ class NamedMessageDispatcherTest {
     void cleanUpConsumers() {
         Field field = NamedMessageDispatcher.class.getDeclaredField("consumerMap");
         field.setAccessible(true);
-        ((Map<String, MessageConsumer>) field.get(dispatcher)).clear();
+        field.set(dispatcher, Collections.emptyMap());
     }
 
     @Test
@@ -132,6 +142,38 @@ class NamedMessageDispatcherTest {
         field.set(dispatcher, Collections.emptyList());
     }
 
+    @SneakyThrows
+    @Test
+    void should_apply_filters_only_to_matching_consumers() {
+        Field field = NamedMessageDispatcher.class.getDeclaredField("filters");
+        field.setAccessible(true);
+        field.set(dispatcher, Collections.singletonList(new MessageFilter() {
+            @Override
+            public boolean appliesTo(@NotNull String consumerName) {
+                return "bar".equals(consumerName);
+            }
+
+            @Override
+            public boolean test(Message message) {
+                return false;
+            }
+        }));
+
+        MessageConsumer consumer = (message, f) -> f.complete(message.getPayload());
+        dispatcher.addConsumer("foo", consumer).addConsumer("bar", consumer);
+
+        CompletableFuture<Object> foo = new CompletableFuture<>();
+        CompletableFuture<Object> bar = new CompletableFuture<>();
+        assertThat(dispatcher.dispatch(prepareArgument("foo"), foo)).isSameAs(consumer);
+        assertThat(dispatcher.dispatch(prepareArgument("bar"), bar)).isNull();
+        assertThat(foo).isNotDone();
+        assertThat(bar).isCompletedExceptionally();
+        assertThat(dispatcher.getFilterStatistics("foo")).isEmpty();
+        assertThat(dispatcher.getFilterStatistics("bar")).hasSize(1);
+
+        field.set(dispatcher, Collections.emptyList());
+    }
+
     @Test
     void should_success_with_specified_consumer() {
         CompletableFuture<Object> future = new CompletableFuture<>();
@@ -142,4 +184,81 @@ class NamedMessageDispatcherTest {
         assertThat(future).isNotCompletedExceptionally();
     }
 
-}
\ No newline at end of file
+    @Test
+    void should_dispatch_all_messages_in_batch() {
+        MessageConsumer foo = (message, f) -> f.complete(message.getPayload());
+        dispatcher.addConsumer("foo", foo);
+
+        List<CompletableFuture<Object>> futures = Arrays.asList(new CompletableFuture<>(), new CompletableFuture<>(), new CompletableFuture<>());
+        List<MessageConsumer> consumers = dispatcher.dispatchAll(
+                Arrays.asList(prepareArgument("foo"), prepareArgument("bar"), prepareArgument("foo")), futures);
+
+        assertThat(consumers).containsExactly(foo, null, foo);
+        assertThat(futures.get(0)).isNotDone();
+        assertThat(futures.get(1)).isCompletedExceptionally();
+        assertThat(futures.get(2)).isNotDone();
+    }
+
+    @SneakyThrows
+    @Test
+    void should_keep_consumers_registered_concurrently() {
+        MessageConsumer consumer = (message, f) -> f.complete(message.getPayload());
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> registrations = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                int offset = thread * 250;
+                registrations.add(executor.submit(() -> {
+                    for (int i = offset; i < offset + 250; i++) {
+                        dispatcher.addConsumer("consumer-" + i, consumer);
+                    }
+                }));
+            }
+            for (Future<?> registration : registrations) {
+                registration.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertThat(dispatcher.dispatch(prepareArgument("consumer-" + i), new CompletableFuture<>())).isSameAs(consumer);
+        }
+    }
+
+    @Test
+    void should_retry_handler_discovery_after_failure() {
+        ServiceRegistry serviceRegistry = mockServiceRegistry();
+        when(serviceRegistry.getServiceClasses(Service.class)).thenReturn(Arrays.asList(Greeter.class, AnotherGreeter.class));
+        when(serviceRegistry.loadServices(Greeter.class)).thenReturn(Collections.singletonList(new Greeter()));
+        when(serviceRegistry.loadServices(AnotherGreeter.class)).thenReturn(Collections.singletonList(new AnotherGreeter()));
+        NamedMessageDispatcher discovering = new NamedMessageDispatcher();
+
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> discovering.configure(serviceRegistry, mockPropertyProvider()))
+                    .isInstanceOf(IllegalStateException.class);
+        }
+
+        when(serviceRegistry.getServiceClasses(Service.class)).thenReturn(Collections.singletonList(Greeter.class));
+        discovering.configure(serviceRegistry, mockPropertyProvider());
+        assertThat(discovering.dispatch(prepareArgument("greet"), new CompletableFuture<>())).isNotNull();
+    }
+
+    @Alternative
+    public static class Greeter implements Service {
+
+        @MessageHandler("greet")
+        public String greet(String name) {
+            return "hello, " + name;
+        }
+    }
+
+    @Alternative
+    public static class AnotherGreeter implements Service {
+
+        @MessageHandler("greet")
+        public String greet(String name) {
+            return "hi, " + name;
+        }
+    }
+
+}
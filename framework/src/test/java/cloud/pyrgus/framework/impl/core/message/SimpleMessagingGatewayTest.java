@@ -24,6 +24,7 @@
 
 package cloud.pyrgus.framework.impl.core.message;
 
+import cloud.pyrgus.framework.core.message.BatchResult;
 import cloud.pyrgus.framework.core.message.MessageDispatcher;
 import cloud.pyrgus.framework.core.service.PropertyProvider;
 import cloud.pyrgus.framework.core.service.ServiceRegistry;
@@ -31,15 +32,24 @@ import cloud.pyrgus.framework.core.task.Mode;
 import cloud.pyrgus.framework.core.task.Task;
 import cloud.pyrgus.framework.core.task.TaskExecutor;
 import lombok.SneakyThrows;
+import org.assertj.core.util.Maps;
 import org.junit.jupiter.api.Test;
 import org.mockito.stubbing.Answer;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -87,4 +97,131 @@ class SimpleMessagingGatewayTest {
         assertThat(future).isCompletedWithValue("bar");
     }
 
+    @Test
+    void should_pass_task_result_to_caller() {
+        SimpleMessagingGateway gateway = new SimpleMessagingGateway();
+
+        CompletableFuture<Object> taskFuture = new CompletableFuture<>();
+        Task task = mock(Task.class);
+        when(task.getFuture()).thenReturn(taskFuture);
+
+        configure(gateway, task);
+
+        CompletableFuture<Object> future = gateway.apply("bar", null, Mode.Background);
+        assertThat(future).isNotDone();
+
+        taskFuture.complete("foo");
+        assertThat(future).isCompletedWithValue("foo");
+    }
+
+    @Test
+    void should_fail_when_executor_rejects() {
+        SimpleMessagingGateway gateway = new SimpleMessagingGateway();
+
+        configure(gateway, null);
+
+        CompletableFuture<Object> future = gateway.apply("bar", null, Mode.Background);
+        assertThat(future).isCompletedExceptionally();
+        assertThatThrownBy(future::join).hasCauseInstanceOf(RejectedExecutionException.class);
+    }
+
+    @Test
+    void should_reject_when_in_flight_limit_reached() {
+        SimpleMessagingGateway gateway = new SimpleMessagingGateway();
+
+        CompletableFuture<Object> taskFuture = new CompletableFuture<>();
+        Task task = mock(Task.class);
+        when(task.getFuture()).thenReturn(taskFuture);
+
+        configure(gateway, task, Maps.newHashMap(SimpleMessagingGateway.PROP_ADMISSION_GLOBAL_LIMIT, "1"));
+
+        assertThat(gateway.apply("bar", null, Mode.Background)).isNotDone();
+        CompletableFuture<Object> rejected = gateway.apply("bar", null, Mode.Background);
+        assertThatThrownBy(rejected::join).hasCauseInstanceOf(RejectedExecutionException.class);
+
+        taskFuture.complete("foo");
+        assertThat(gateway.apply("bar", null, Mode.Background)).isCompletedWithValue("foo");
+    }
+
+    @Test
+    void should_run_in_caller_when_policy_is_caller_runs() {
+        SimpleMessagingGateway gateway = new SimpleMessagingGateway();
+
+        Task task = mock(Task.class);
+        when(task.getFuture()).thenReturn(new CompletableFuture<>());
+
+        Map<String, String> properties = Maps.newHashMap(SimpleMessagingGateway.PROP_ADMISSION_CONSUMER_LIMIT, "1");
+        properties.put(SimpleMessagingGateway.PROP_ADMISSION_POLICY, "CallerRuns");
+        TaskExecutor executor = configure(gateway, task, properties);
+
+        gateway.apply("bar", null, Mode.Background);
+        verify(executor, never()).submit(any(), any(), any(), eq(Mode.Posting));
+        gateway.apply("bar", null, Mode.Background);
+        verify(executor).submit(any(), any(), any(), eq(Mode.Posting));
+    }
+
+    @Test
+    void should_reject_when_blocking_times_out() {
+        SimpleMessagingGateway gateway = new SimpleMessagingGateway();
+
+        Task task = mock(Task.class);
+        when(task.getFuture()).thenReturn(new CompletableFuture<>());
+
+        Map<String, String> properties = Maps.newHashMap(SimpleMessagingGateway.PROP_ADMISSION_GLOBAL_LIMIT, "1");
+        properties.put(SimpleMessagingGateway.PROP_ADMISSION_POLICY, "Block");
+        properties.put(SimpleMessagingGateway.PROP_ADMISSION_TIMEOUT, "10");
+        configure(gateway, task, properties);
+
+        gateway.apply("bar", null, Mode.Background);
+        CompletableFuture<Object> rejected = gateway.apply("bar", null, Mode.Background);
+        assertThatThrownBy(rejected::join).hasCauseInstanceOf(RejectedExecutionException.class);
+    }
+
+    @Test
+    void should_apply_all_payloads() {
+        SimpleMessagingGateway gateway = new SimpleMessagingGateway();
+
+        CompletableFuture<Object> taskFuture = new CompletableFuture<>();
+        Task task = mock(Task.class);
+        when(task.getFuture()).thenReturn(taskFuture);
+
+        TaskExecutor executor = configure(gateway, task, Maps.newHashMap(SimpleMessagingGateway.PROP_ADMISSION_GLOBAL_LIMIT, "2"));
+
+        BatchResult<Object> result = gateway.applyAll(Arrays.asList("foo", "bar", "baz"), null, Mode.Background);
+        assertThat(result.getFutures()).hasSize(3);
+        assertThatThrownBy(result.getFutures().get(2)::join).hasCauseInstanceOf(RejectedExecutionException.class);
+        assertThat(result.getAll()).isCompletedExceptionally();
+        verify(executor).submitAll(argThat(messages -> messages.size() == 2), any(), any(), eq(Mode.Background));
+
+        taskFuture.complete("qux");
+        assertThat(result.getFutures().get(0)).isCompletedWithValue("qux");
+        assertThat(gateway.applyAll(Arrays.asList("foo", "bar"), null, Mode.Background).getAll())
+                .isCompletedWithValue(Arrays.asList("qux", "qux"));
+    }
+
+    private void configure(SimpleMessagingGateway gateway, Task task) {
+        configure(gateway, task, Collections.emptyMap());
+    }
+
+    @SneakyThrows
+    private TaskExecutor configure(SimpleMessagingGateway gateway, Task task, Map<String, String> properties) {
+        MessageDispatcher dispatcher = mock(MessageDispatcher.class);
+        when(dispatcher.dispatch(any(), any())).thenReturn((message, future) -> future.complete(message.getPayload()));
+        when(dispatcher.dispatchAll(any(), any())).thenCallRealMethod();
+
+        TaskExecutor executor = mock(TaskExecutor.class);
+        when(executor.submit(any(), any(), any(), any())).thenReturn(task);
+        when(executor.submitAll(any(), any(), any(), any())).thenCallRealMethod();
+
+        ServiceRegistry registry = mock(ServiceRegistry.class);
+        when(registry.loadService(MessageDispatcher.class)).thenReturn(dispatcher);
+        when(registry.loadService(TaskExecutor.class)).thenReturn(executor);
+
+        PropertyProvider propertyProvider = mock(PropertyProvider.class);
+        when(propertyProvider.getProperty(any())).then(invocation -> properties.get(invocation.<String>getArgument(0)));
+
+        gateway.configure(registry, propertyProvider);
+        return executor;
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,131 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Zhang Jiankun
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package cloud.pyrgus.framework.impl.core.service;
+
+import cloud.pyrgus.framework.Pyrgus;
+import cloud.pyrgus.framework.core.service.Service;
+import cloud.pyrgus.framework.core.service.ServiceRegistry;
+import cloud.pyrgus.framework.impl.core.argument_resolver.ArgumentResolver;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.reflections.Reflections;
+import org.reflections.scanners.Scanners;
+import org.reflections.util.ConfigurationBuilder;
+
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author <a href="mailto:git@krun.dev">Jiankun-Zhang</a>
+ * @since 2026/10/17
+ */
+class IndexedServiceRegisterBuilderTest {
+
+    @SneakyThrows
+    @Test
+    void should_index_every_framework_service() {
+        URL frameworkClasses = Pyrgus.class.getProtectionDomain().getCodeSource().getLocation();
+        Set<String> scanned = new Reflections(new ConfigurationBuilder()
+                .forPackages(Pyrgus.class.getPackage().getName())
+                .setScanners(Scanners.SubTypes))
+                .getSubTypesOf(Service.class)
+                .stream()
+                .filter(type -> frameworkClasses.equals(type.getProtectionDomain().getCodeSource().getLocation()))
+                .filter(type -> Modifier.isPublic(type.getModifiers()) && !Modifier.isAbstract(type.getModifiers()) && !type.isInterface())
+                .filter(type -> type.getEnclosingClass() == null || Modifier.isStatic(type.getModifiers()))
+                .map(Class::getName)
+                .collect(Collectors.toCollection(TreeSet::new));
+
+        Set<String> indexed = new TreeSet<>();
+        try (InputStream in = new URL(frameworkClasses, IndexedServiceRegisterBuilder.INDEX_LOCATION).openStream()) {
+            for (String line : new String(readAll(in), StandardCharsets.UTF_8).split("\n")) {
+                if (!line.trim().isEmpty() && !line.startsWith("#")) {
+                    indexed.add(line.trim());
+                }
+            }
+        }
+
+        assertThat(indexed).containsExactlyElementsOf(scanned);
+    }
+
+    @Test
+    void should_register_indexed_services() {
+        ServiceRegistry registry = new IndexedServiceRegisterBuilder().build();
+        assertThat(registry.loadServices(ArgumentResolver.class)).isNotEmpty();
+    }
+
+    @SneakyThrows
+    @Test
+    void should_generate_index_at_compile_time(@TempDir Path directory) {
+        Path source = directory.resolve("src/sample/Greeter.java");
+        Files.createDirectories(source.getParent());
+        Files.write(source, Arrays.asList(
+                "package sample;",
+                "public class Greeter implements cloud.pyrgus.framework.core.service.Service {",
+                "    public static class Nested implements cloud.pyrgus.framework.core.service.Service {}",
+                "    public class Inner implements cloud.pyrgus.framework.core.service.Service {}",
+                "}",
+                "abstract class Hidden implements cloud.pyrgus.framework.core.service.Service {}"
+        ), StandardCharsets.UTF_8);
+        Path output = Files.createDirectories(directory.resolve("classes"));
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null,
+                    Arrays.asList("-d", output.toString(), "-classpath", System.getProperty("java.class.path"), "-proc:only"),
+                    null, fileManager.getJavaFileObjects(source.toFile()));
+            task.setProcessors(Collections.singletonList(new ServiceIndexProcessor()));
+            assertThat(task.call()).isTrue();
+        }
+
+        List<String> index = Files.readAllLines(output.resolve(IndexedServiceRegisterBuilder.INDEX_LOCATION), StandardCharsets.UTF_8);
+        assertThat(index).containsExactly("sample.Greeter", "sample.Greeter$Nested");
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+}
@@ -26,9 +26,25 @@ package cloud.pyrgus.framework.impl.core.service;
 
 import cloud.pyrgus.framework.core.service.Service;
 import cloud.pyrgus.framework.core.service.ServiceRegistry;
+import cloud.pyrgus.framework.core.service.StartupProfiler;
+import lombok.SneakyThrows;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * @author <a href="mailto:git@krun.dev">Jiankun-Zhang</a>
@@ -46,6 +62,86 @@ class ReflectionsServiceRegisterBuilderTest {
         assertThatCode(() -> registry.loadService(Foo.class)).doesNotThrowAnyException();
     }
 
+    @SneakyThrows
+    @Test
+    void should_reuse_snapshot_when_classpath_unchanged(@TempDir Path directory) {
+        Path snapshot = directory.resolve("registry.bin");
+        StartupProfiler first = new StartupProfiler();
+        new ReflectionsServiceRegisterBuilder(this.getClass()).snapshot(snapshot).build(first);
+        assertThat(first.report().getPhases()).containsKeys("scan", "snapshot.write");
+        assertThat(snapshot).isRegularFile();
+
+        StartupProfiler second = new StartupProfiler();
+        ServiceRegistry registry = new ReflectionsServiceRegisterBuilder(this.getClass()).snapshot(snapshot).build(second);
+        assertThat(second.report().getPhases()).containsKey("snapshot.read").doesNotContainKey("scan");
+        assertThat(registry.loadService(Foo.class)).isInstanceOf(FooImpl.class);
+    }
+
+    @SneakyThrows
+    @Test
+    void should_rescan_when_fingerprint_changed(@TempDir Path directory) {
+        Path snapshot = directory.resolve("registry.bin");
+        RegistrySnapshot.write(snapshot, new byte[32], Collections.singletonList(FooImpl.class.getName()));
+
+        StartupProfiler profiler = new StartupProfiler();
+        ServiceRegistry registry = new ReflectionsServiceRegisterBuilder(this.getClass()).snapshot(snapshot).build(profiler);
+        assertThat(profiler.report().getPhases()).containsKeys("scan", "snapshot.write");
+        assertThat(registry.loadService(Foo.class)).isInstanceOf(FooImpl.class);
+    }
+
+    @SneakyThrows
+    @Test
+    void should_rescan_when_snapshot_corrupted(@TempDir Path directory) {
+        Path snapshot = directory.resolve("registry.bin");
+        Files.write(snapshot, new byte[]{1, 2, 3});
+
+        StartupProfiler profiler = new StartupProfiler();
+        ServiceRegistry registry = new ReflectionsServiceRegisterBuilder(this.getClass()).snapshot(snapshot).build(profiler);
+        assertThat(profiler.report().getPhases()).containsKey("scan");
+        assertThat(registry.loadService(Foo.class)).isInstanceOf(FooImpl.class);
+    }
+
+    @SneakyThrows
+    @Test
+    void should_ignore_snapshot_with_negative_count(@TempDir Path directory) {
+        Path snapshot = directory.resolve("registry.bin");
+        RegistrySnapshot.write(snapshot, new byte[32], Collections.emptyList());
+        byte[] content = Files.readAllBytes(snapshot);
+        Arrays.fill(content, content.length - 4, content.length, (byte) 0xFF);
+        Files.write(snapshot, content);
+
+        assertThat(RegistrySnapshot.read(snapshot, new byte[32]).isEmpty()).isTrue();
+    }
+
+    @SneakyThrows
+    @Test
+    void should_change_fingerprint_when_jar_content_changed_under_same_url(@TempDir Path directory) {
+        Path jar = directory.resolve("app.jar");
+        writeJar(jar, "v1");
+        URL url = new URL("jar:" + jar.toUri() + "!/BOOT-INF/classes!/");
+        byte[] before = RegistrySnapshot.fingerprint(Collections.singletonList(url), "");
+
+        writeJar(jar, "version-2");
+        Files.setLastModifiedTime(jar, FileTime.fromMillis(Files.getLastModifiedTime(jar).toMillis() + 1000));
+        byte[] after = RegistrySnapshot.fingerprint(Collections.singletonList(url), "");
+        assertThat(after).isNotEqualTo(before);
+    }
+
+    @Test
+    void should_refuse_fingerprint_for_unresolvable_url() {
+        assertThatThrownBy(() -> RegistrySnapshot.fingerprint(Collections.singletonList(new URL("http://example.com/app.jar")), ""))
+                .isInstanceOf(IOException.class);
+    }
+
+    @SneakyThrows
+    private static void writeJar(Path jar, String content) {
+        try (JarOutputStream output = new JarOutputStream(Files.newOutputStream(jar))) {
+            output.putNextEntry(new JarEntry("BOOT-INF/classes/content.txt"));
+            output.write(content.getBytes(StandardCharsets.UTF_8));
+            output.closeEntry();
+        }
+    }
+
     interface Foo extends Service {
     }
 
@@ -24,16 +24,32 @@
 
 package cloud.pyrgus.framework.impl.core.service;
 
+import cloud.pyrgus.framework.Configuration;
+import cloud.pyrgus.framework.Pyrgus;
+import cloud.pyrgus.framework.core.service.Alternative;
+import cloud.pyrgus.framework.core.service.Configurable;
+import cloud.pyrgus.framework.core.service.PropertyProvider;
 import cloud.pyrgus.framework.core.service.Service;
+import cloud.pyrgus.framework.core.service.ServiceRegistry;
 import cloud.pyrgus.framework.core.service.exception.ServiceNotRegisteredException;
 import cloud.pyrgus.framework.core.service.exception.ServiceNotUniqueException;
+import cloud.pyrgus.framework.exception.PyrgusNotConfiguredException;
 import lombok.SneakyThrows;
 import org.assertj.core.util.Sets;
+import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -78,6 +94,136 @@ class SimpleServiceRegistryTest {
         System.getProperties().remove(Foo.class.getName());
     }
 
+    @SneakyThrows
+    @Test
+    void should_load_alternative_only_when_specified() {
+        SimpleServiceRegistry registry = new SimpleServiceRegistry(Sets.set(Foo1.class, Foo6.class));
+        assertThat(registry.loadService(Foo.class)).isInstanceOf(Foo1.class);
+
+        System.setProperty(Foo.class.getName(), Foo6.class.getName());
+        registry = new SimpleServiceRegistry(Sets.set(Foo1.class, Foo6.class));
+        assertThat(registry.loadService(Foo.class)).isInstanceOf(Foo6.class);
+        System.getProperties().remove(Foo.class.getName());
+    }
+
+    @SneakyThrows
+    @Test
+    void should_register_diamond_hierarchy_once() {
+        SimpleServiceRegistry registry = new SimpleServiceRegistry(Sets.set(Diamond.class));
+        assertThat(registry.loadServices(Top.class)).hasSize(1);
+        assertThat(registry.loadService(Top.class)).isSameAs(registry.loadService(Left.class));
+    }
+
+    @SneakyThrows
+    @Test
+    void should_select_by_indirect_service_type() {
+        System.setProperty(Top.class.getName(), Diamond.class.getName());
+        try {
+            SimpleServiceRegistry registry = new SimpleServiceRegistry(Sets.set(Diamond.class, Corner.class));
+            assertThat(registry.loadService(Top.class)).isInstanceOf(Diamond.class);
+            assertThat(registry.loadServices(Right.class)).hasSize(1);
+        } finally {
+            System.getProperties().remove(Top.class.getName());
+        }
+    }
+
+    @SneakyThrows
+    @Test
+    void should_configure_service_once() {
+        SimpleServiceRegistry registry = configurePyrgus(Sets.set(Bar1.class));
+        Bar1 bar = registry.loadService(Bar1.class);
+        registry.loadService(Bar.class);
+        registry.loadServices(Bar.class);
+        assertThat(bar.configured).isEqualTo(1);
+        assertThatThrownBy(() -> registry.loadServices(Bar.class).clear())
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @SneakyThrows
+    @Test
+    void should_configure_cyclic_services() {
+        SimpleServiceRegistry registry = configurePyrgus(Sets.set(Ping.class, Pong.class));
+        Ping ping = registry.loadService(Ping.class);
+        Pong pong = registry.loadService(Pong.class);
+        assertThat(ping.pong).isSameAs(pong);
+        assertThat(pong.ping).isSameAs(ping);
+        assertThat(ping.configured).isEqualTo(1);
+        assertThat(pong.configured).isEqualTo(1);
+    }
+
+    @SneakyThrows
+    @Test
+    void should_instantiate_lazily() {
+        Baz1.instances.set(0);
+        SimpleServiceRegistry registry = new SimpleServiceRegistry(Sets.set(Baz1.class, Foo1.class), ServiceBootstrap.Lazy);
+        assertThat(Baz1.instances).hasValue(0);
+        assertThat(registry.loadService(Foo.class)).isInstanceOf(Foo1.class);
+        assertThat(Baz1.instances).hasValue(0);
+
+        Baz baz = registry.loadService(Baz.class);
+        assertThat(registry.loadService(Baz1.class)).isSameAs(baz);
+        assertThat(Baz1.instances).hasValue(1);
+    }
+
+    @SneakyThrows
+    @Test
+    void should_instantiate_lazily_once_across_threads() {
+        Baz1.instances.set(0);
+        SimpleServiceRegistry registry = new SimpleServiceRegistry(Sets.set(Baz1.class), ServiceBootstrap.Lazy);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Baz>> futures = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                Class<? extends Baz> type = i % 2 == 0 ? Baz.class : Baz1.class;
+                futures.add(executor.submit(() -> registry.loadService(type)));
+            }
+            Baz baz = futures.get(0).get();
+            for (Future<Baz> future : futures) {
+                assertThat(future.get()).isSameAs(baz);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(Baz1.instances).hasValue(1);
+    }
+
+    @SneakyThrows
+    @Test
+    void should_configure_all_services_after_parallel_bootstrap() {
+        Qux.configured.set(0);
+        SimpleServiceRegistry registry = configurePyrgus(Sets.set(Bar1.class, Qux.class, Ping.class, Pong.class), ServiceBootstrap.Parallel);
+        assertThat(Qux.configured).hasValue(1);
+        Qux qux = registry.loadService(Qux.class);
+        assertThat(qux.bar).isInstanceOf(Bar1.class);
+        assertThat(qux.barConfigured).isEqualTo(1);
+        assertThat(((Bar1) qux.bar).configured).isEqualTo(1);
+
+        Ping ping = registry.loadService(Ping.class);
+        assertThat(ping.pong).isSameAs(registry.loadService(Pong.class));
+        assertThat(ping.configured).isEqualTo(1);
+        assertThat(ping.pong.configured).isEqualTo(1);
+    }
+
+    private static SimpleServiceRegistry configurePyrgus(Set<Class<? extends Service>> classes) {
+        return configurePyrgus(classes, ServiceBootstrap.Eager);
+    }
+
+    @SneakyThrows
+    private static SimpleServiceRegistry configurePyrgus(Set<Class<? extends Service>> classes, ServiceBootstrap bootstrap) {
+        Field field = Pyrgus.class.getDeclaredField("configured");
+        field.setAccessible(true);
+        try {
+            field.set(Pyrgus.getInstance(), false);
+        } catch (PyrgusNotConfiguredException ignore) {
+        }
+        SimpleServiceRegistry registry = new SimpleServiceRegistry(classes, bootstrap);
+        Pyrgus.configure(Configuration.builder()
+                .propertyProvider(new PropertiesProvider())
+                .serviceRegisterBuilder(() -> registry)
+                .build());
+        return registry;
+    }
+
     @ParameterizedTest
     @ValueSource(classes = {
             Foo3.class, Foo4.class, Foo5.class
@@ -116,4 +262,93 @@ class SimpleServiceRegistryTest {
         }
     }
 
-}
\ No newline at end of file
+    @Alternative
+    public static class Foo6 implements Foo {
+    }
+
+    interface Bar extends Service {
+    }
+
+    public static class Bar1 implements Bar, Configurable {
+
+        int configured = 0;
+
+        @Override
+        public void configure(@NotNull ServiceRegistry serviceRegistry, @NotNull PropertyProvider propertyProvider) {
+            configured++;
+        }
+    }
+
+    interface Top extends Service {
+    }
+
+    interface Left extends Top {
+    }
+
+    interface Right extends Top {
+    }
+
+    public static class Diamond implements Left, Right {
+    }
+
+    public static class Corner implements Right {
+    }
+
+    interface Baz extends Service {
+    }
+
+    public static class Baz1 implements Baz {
+
+        static final AtomicInteger instances = new AtomicInteger();
+
+        public Baz1() {
+            instances.incrementAndGet();
+        }
+    }
+
+    public static class Qux implements Service, Configurable {
+
+        static final AtomicInteger configured = new AtomicInteger();
+
+        Bar bar;
+
+        int barConfigured;
+
+        @SneakyThrows
+        @Override
+        public void configure(@NotNull ServiceRegistry serviceRegistry, @NotNull PropertyProvider propertyProvider) {
+            configured.incrementAndGet();
+            bar = serviceRegistry.loadService(Bar.class);
+            barConfigured = ((Bar1) bar).configured;
+        }
+    }
+
+    public static class Ping implements Service, Configurable {
+
+        int configured = 0;
+
+        Pong pong;
+
+        @SneakyThrows
+        @Override
+        public void configure(@NotNull ServiceRegistry serviceRegistry, @NotNull PropertyProvider propertyProvider) {
+            configured++;
+            pong = serviceRegistry.loadService(Pong.class);
+        }
+    }
+
+    public static class Pong implements Service, Configurable {
+
+        int configured = 0;
+
+        Ping ping;
+
+        @SneakyThrows
+        @Override
+        public void configure(@NotNull ServiceRegistry serviceRegistry, @NotNull PropertyProvider propertyProvider) {
+            configured++;
+            ping = serviceRegistry.loadService(Ping.class);
+        }
+    }
+
+}
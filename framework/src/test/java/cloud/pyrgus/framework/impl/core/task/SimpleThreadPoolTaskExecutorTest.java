@@ -24,15 +24,19 @@
 
 package cloud.pyrgus.framework.impl.core.task;
 
+import cloud.pyrgus.framework.core.message.AsyncMessageConsumer;
 import cloud.pyrgus.framework.core.message.Message;
 import cloud.pyrgus.framework.core.message.MessageConsumer;
 import cloud.pyrgus.framework.core.service.PropertyProvider;
 import cloud.pyrgus.framework.core.service.ServiceRegistry;
+import cloud.pyrgus.framework.core.task.AsyncTaskInterceptor;
 import cloud.pyrgus.framework.core.task.Mode;
 import cloud.pyrgus.framework.core.task.Task;
 import cloud.pyrgus.framework.core.task.TaskInterceptor;
+import cloud.pyrgus.framework.core.task.TaskInterceptorChain;
 import io.vavr.Tuple;
 import io.vavr.Tuple2;
+import org.assertj.core.api.Assertions;
 import org.assertj.core.api.InstanceOfAssertFactories;
 import org.assertj.core.util.Maps;
 import org.jetbrains.annotations.NotNull;
@@ -40,9 +44,19 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentMatchers;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.as;
@@ -132,4 +146,189 @@ class SimpleThreadPoolTaskExecutorTest {
                 .containsEntry("foo", "foo");
     }
 
-}
\ No newline at end of file
+    @Test
+    void should_not_starve_background_tasks_with_blocking_io_tasks() {
+        CountDownLatch latch = new CountDownLatch(1);
+        Tuple2<Message, MessageConsumer> arguments = prepareArguments();
+        Task io = executor.submit(arguments._1, (message, future) -> {
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            future.complete(Thread.currentThread().getName());
+        }, null, Mode.IO);
+        assertThat(io).isNotNull();
+
+        Task background = executor.submit(arguments._1, (message, future) -> future.complete(Thread.currentThread().getName()), null, Mode.Background);
+        assertThat(background.getFuture()).succeedsWithin(1, TimeUnit.SECONDS).asString().startsWith("pyrgus-background-");
+        assertThat(io.getFuture()).isNotDone();
+
+        latch.countDown();
+        assertThat(io.getFuture()).succeedsWithin(1, TimeUnit.SECONDS);
+        assertThat(executor.metrics(Mode.IO).get().getRejected()).isZero();
+        assertThat(executor.metrics(Mode.Background).get().getName()).isEqualTo("background");
+        assertThat(executor.metrics(Mode.Posting).isEmpty()).isTrue();
+    }
+
+    @Test
+    void should_merge_state_when_executing_task_state_is_empty() {
+        Tuple2<Message, MessageConsumer> arguments = prepareArguments();
+        Task task = executor.submit(arguments._1, (message, future) -> {
+            Task child = executor.submit(message, (msg, f) -> f.complete(msg.getPayload()), Maps.newHashMap("foo", "foo"), Mode.Posting);
+            assertThat(executor.executingTask().get()).isNotSameAs(child);
+            future.complete(message.getPayload());
+        }, null, Mode.Posting);
+        assertThat(task.getState())
+                .asInstanceOf(InstanceOfAssertFactories.MAP)
+                .containsEntry("foo", "foo");
+        assertThat(executor.executingTask().isEmpty()).isTrue();
+    }
+
+    @Test
+    void should_run_on_virtual_threads_or_fall_back_to_platform_lanes() {
+        boolean supported = Arrays.stream(Executors.class.getMethods())
+                .anyMatch(method -> method.getName().equals("newVirtualThreadPerTaskExecutor"));
+        VirtualThreadTaskExecutor virtualExecutor = new VirtualThreadTaskExecutor();
+        virtualExecutor.configure(mockServiceRegistry(), mockPropertyProvider());
+
+        Tuple2<Message, MessageConsumer> arguments = prepareArguments();
+        assertThat(virtualExecutor.submit(arguments._1, arguments._2, null, Mode.Background).getFuture())
+                .succeedsWithin(1, TimeUnit.SECONDS);
+        assertThat(virtualExecutor.submit(arguments._1, arguments._2, null, Mode.IO).getFuture())
+                .succeedsWithin(1, TimeUnit.SECONDS);
+        assertThat(virtualExecutor.metrics(Mode.Background).get().isVirtual()).isEqualTo(supported);
+        assertThat(virtualExecutor.metrics(Mode.IO).get().isVirtual()).isEqualTo(supported);
+    }
+
+    @Test
+    void should_submit_batch_as_a_whole() {
+        PropertyProvider propertyProvider = mockPropertyProvider();
+        when(propertyProvider.getProperty(SimpleThreadPoolTaskExecutor.PROP_BACKGROUND_CAPACITY)).thenReturn("3");
+        SimpleThreadPoolTaskExecutor boundedExecutor = new SimpleThreadPoolTaskExecutor();
+        boundedExecutor.configure(mockServiceRegistry(), propertyProvider);
+
+        Tuple2<Message, MessageConsumer> arguments = prepareArguments();
+        List<Task> tasks = boundedExecutor.submitAll(Collections.nCopies(3, arguments._1), Collections.nCopies(3, arguments._2), null, Mode.Background);
+        for (Task task : tasks) {
+            assertThat(task.getFuture()).succeedsWithin(1, TimeUnit.SECONDS);
+        }
+
+        List<Task> rejected = boundedExecutor.submitAll(Collections.nCopies(4, arguments._1), Collections.nCopies(4, arguments._2), null, Mode.Background);
+        assertThat(rejected.stream().allMatch(Objects::isNull)).isTrue();
+        assertThat(boundedExecutor.metrics(Mode.Background).get().getRejected()).isEqualTo(4);
+    }
+
+    @Test
+    void should_only_run_interceptors_applying_to_consumer() {
+        List<String> intercepted = new ArrayList<>();
+        TaskInterceptor all = (task, chain) -> {
+            intercepted.add("all");
+            chain.next();
+        };
+        TaskInterceptor echoOnly = new TaskInterceptor() {
+            @Override
+            public void intercept(Task task, TaskInterceptorChain chain) {
+                intercepted.add("echo");
+                chain.next();
+            }
+
+            @Override
+            public boolean appliesTo(@NotNull Class<? extends MessageConsumer> consumerType) {
+                return Echo.class.isAssignableFrom(consumerType);
+            }
+        };
+        ServiceRegistry serviceRegistry = mock(ServiceRegistry.class);
+        when(serviceRegistry.loadServices(ArgumentMatchers.eq(TaskInterceptor.class))).thenReturn(Arrays.asList(all, echoOnly));
+        SimpleThreadPoolTaskExecutor interceptedExecutor = new SimpleThreadPoolTaskExecutor();
+        interceptedExecutor.configure(serviceRegistry, mockPropertyProvider());
+
+        Tuple2<Message, MessageConsumer> arguments = prepareArguments();
+        assertThat(interceptedExecutor.submit(arguments._1, arguments._2, null, Mode.Posting).getFuture()).isDone();
+        Assertions.assertThat(intercepted).containsExactly("all");
+
+        intercepted.clear();
+        assertThat(interceptedExecutor.submit(arguments._1, new Echo(), null, Mode.Posting).getFuture()).isDone();
+        Assertions.assertThat(intercepted).containsExactly("all", "echo");
+    }
+
+    @Test
+    void should_drive_many_suspended_tasks_with_one_thread() {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            AsyncTaskInterceptor delayed = task -> {
+                CompletableFuture<Boolean> stage = new CompletableFuture<>();
+                scheduler.schedule(() -> stage.complete(true), 10, TimeUnit.MILLISECONDS);
+                return stage;
+            };
+            ServiceRegistry serviceRegistry = mock(ServiceRegistry.class);
+            when(serviceRegistry.loadServices(ArgumentMatchers.eq(TaskInterceptor.class))).thenReturn(Collections.singletonList(delayed));
+            PropertyProvider propertyProvider = mockPropertyProvider();
+            when(propertyProvider.getProperty(SimpleThreadPoolTaskExecutor.PROP_BACKGROUND_PARALLELISM)).thenReturn("1");
+            when(propertyProvider.getProperty(SimpleThreadPoolTaskExecutor.PROP_BACKGROUND_CAPACITY)).thenReturn("20000");
+            SimpleThreadPoolTaskExecutor asyncExecutor = new SimpleThreadPoolTaskExecutor();
+            asyncExecutor.configure(serviceRegistry, propertyProvider);
+
+            Set<String> threads = ConcurrentHashMap.newKeySet();
+            AsyncMessageConsumer consumer = message -> {
+                threads.add(Thread.currentThread().getName());
+                Task executing = asyncExecutor.executingTask().get();
+                CompletableFuture<Object> stage = new CompletableFuture<>();
+                scheduler.schedule(() -> stage.complete(executing.getMessage() == message ? "resumed" : null), 10, TimeUnit.MILLISECONDS);
+                return stage;
+            };
+            Tuple2<Message, MessageConsumer> arguments = prepareArguments();
+            List<Task> tasks = new ArrayList<>();
+            for (int i = 0; i < 10000; i++) {
+                tasks.add(asyncExecutor.submit(arguments._1, consumer, null, Mode.Background));
+            }
+            for (Task task : tasks) {
+                assertThat(task.getFuture()).succeedsWithin(5, TimeUnit.SECONDS).isEqualTo("resumed");
+            }
+            Assertions.assertThat(threads).hasSize(1).allMatch(name -> name.startsWith("pyrgus-background-"));
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Test
+    void should_reject_when_background_lane_is_full() throws InterruptedException {
+        PropertyProvider propertyProvider = mockPropertyProvider();
+        when(propertyProvider.getProperty(SimpleThreadPoolTaskExecutor.PROP_BACKGROUND_PARALLELISM)).thenReturn("1");
+        when(propertyProvider.getProperty(SimpleThreadPoolTaskExecutor.PROP_BACKGROUND_CAPACITY)).thenReturn("1");
+        SimpleThreadPoolTaskExecutor boundedExecutor = new SimpleThreadPoolTaskExecutor();
+        boundedExecutor.configure(mockServiceRegistry(), propertyProvider);
+
+        CountDownLatch latch = new CountDownLatch(1);
+        Tuple2<Message, MessageConsumer> arguments = prepareArguments();
+        Task blocking = boundedExecutor.submit(arguments._1, (message, future) -> {
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            future.complete(message.getPayload());
+        }, null, Mode.Background);
+        assertThat(blocking).isNotNull();
+
+        assertThat(boundedExecutor.submit(arguments._1, arguments._2, null, Mode.Background)).isNull();
+        assertThat(boundedExecutor.submit(arguments._1, arguments._2, null, Mode.Posting)).isNotNull();
+
+        latch.countDown();
+        assertThat(blocking.getFuture()).succeedsWithin(1, TimeUnit.SECONDS);
+        Task accepted = null;
+        for (int i = 0; i < 100 && accepted == null; i++) {
+            Thread.sleep(10);
+            accepted = boundedExecutor.submit(arguments._1, arguments._2, null, Mode.Background);
+        }
+        assertThat(accepted).isNotNull();
+    }
+
+    static class Echo implements MessageConsumer {
+        @Override
+        public void consume(@NotNull Message message, @NotNull CompletableFuture<Object> future) {
+            future.complete(message.getPayload());
+        }
+    }
+
+}